@@ -0,0 +1,59 @@
+package me.tisana.miniblog.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.domain.enumeration.Status;
+
+/**
+ * Entities shaped like the ones list requests return: cards with a near-full content column,
+ * sharing a few authors and categories.
+ */
+final class CardFixtures {
+
+    private static final int AUTHOR_COUNT = 10;
+
+    private static final int CATEGORY_COUNT = 5;
+
+    private static final String CONTENT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(4);
+
+    private CardFixtures() {}
+
+    static List<Author> authors(int size) {
+        List<Author> authors = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            authors.add(new Author().id(id).username("author" + id).password("$2a$10$" + "x".repeat(53)).version(id % 3));
+        }
+        return authors;
+    }
+
+    static List<Category> categories(int size) {
+        List<Category> categories = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            categories.add(new Category().id(id).name("category" + id).version(id % 3));
+        }
+        return categories;
+    }
+
+    static List<Card> cards(int size) {
+        List<Author> authors = authors(AUTHOR_COUNT);
+        List<Category> categories = categories(CATEGORY_COUNT);
+        Status[] statuses = Status.values();
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(
+                new Card()
+                    .id(i + 1L)
+                    .name("Card " + i)
+                    .status(statuses[i % statuses.length])
+                    .content(CONTENT.substring(0, 200))
+                    .author(authors.get(i % AUTHOR_COUNT))
+                    .category(categories.get(i % CATEGORY_COUNT))
+                    .version((long) i % 7)
+            );
+        }
+        return cards;
+    }
+}
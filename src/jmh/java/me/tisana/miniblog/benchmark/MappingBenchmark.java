@@ -0,0 +1,76 @@
+package me.tisana.miniblog.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.service.dto.AuthorDTO;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CategoryDTO;
+import me.tisana.miniblog.service.mapper.AuthorMapper;
+import me.tisana.miniblog.service.mapper.AuthorMapperImpl;
+import me.tisana.miniblog.service.mapper.CardMapper;
+import me.tisana.miniblog.service.mapper.CardMapperImpl;
+import me.tisana.miniblog.service.mapper.CategoryMapper;
+import me.tisana.miniblog.service.mapper.CategoryMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of mapping a page of entities to DTOs, as every list request does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({ "20", "100", "1000" })
+    private int size;
+
+    private final CardMapper cardMapper = new CardMapperImpl();
+
+    private final AuthorMapper authorMapper = new AuthorMapperImpl();
+
+    private final CategoryMapper categoryMapper = new CategoryMapperImpl();
+
+    private List<Card> cards;
+
+    private List<Author> authors;
+
+    private List<Category> categories;
+
+    @Setup
+    public void setUp() {
+        cards = CardFixtures.cards(size);
+        authors = CardFixtures.authors(size);
+        categories = CardFixtures.categories(size);
+    }
+
+    @Benchmark
+    public List<CardDTO> cardsToDto() {
+        return cardMapper.toDto(cards);
+    }
+
+    @Benchmark
+    public List<AuthorDTO> authorsToDto() {
+        return authorMapper.toDto(authors);
+    }
+
+    @Benchmark
+    public List<CategoryDTO> categoriesToDto() {
+        return categoryMapper.toDto(categories);
+    }
+}
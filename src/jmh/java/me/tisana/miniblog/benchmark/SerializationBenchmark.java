@@ -0,0 +1,62 @@
+package me.tisana.miniblog.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.mapper.CardMapper;
+import me.tisana.miniblog.service.mapper.CardMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cost of serializing a page of card DTOs with Jackson, alone and together with the mapping,
+ * which is what a list request pays once the entities are loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({ "20", "100", "1000" })
+    private int size;
+
+    private final CardMapper cardMapper = new CardMapperImpl();
+
+    private final ObjectWriter writer = JsonMapper.builder().build().writerFor(new TypeReference<List<CardDTO>>() {});
+
+    private List<Card> cards;
+
+    private List<CardDTO> cardDTOs;
+
+    @Setup
+    public void setUp() {
+        cards = CardFixtures.cards(size);
+        cardDTOs = cardMapper.toDto(cards);
+    }
+
+    @Benchmark
+    public byte[] serializeCards() {
+        return writer.writeValueAsBytes(cardDTOs);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeCards() {
+        return writer.writeValueAsBytes(cardMapper.toDto(cards));
+    }
+}
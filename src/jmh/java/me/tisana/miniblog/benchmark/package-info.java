@@ -0,0 +1,4 @@
+/**
+ * JMH microbenchmarks, run with the {@code jmh} Maven profile.
+ */
+package me.tisana.miniblog.benchmark;
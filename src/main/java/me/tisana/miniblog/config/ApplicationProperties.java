@@ -1,6 +1,12 @@
 package me.tisana.miniblog.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Mini Blog.
@@ -13,12 +19,30 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Jdbc jdbc = new Jdbc();
+
+    private final Cache cache = new Cache();
+
+    private final CardCounts cardCounts = new CardCounts();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public CardCounts getCardCounts() {
+        return cardCounts;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -34,5 +58,482 @@ public class ApplicationProperties {
         }
     }
 
+    public static class Jdbc {
+
+        /**
+         * Maximum number of connections borrowed concurrently when running on virtual threads, defaults to the Hikari
+         * pool size.
+         */
+        private Integer concurrencyLimit;
+
+        private final ReadReplicas readReplicas = new ReadReplicas();
+
+        private final Statements statements = new Statements();
+
+        public Integer getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public void setConcurrencyLimit(Integer concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        public ReadReplicas getReadReplicas() {
+            return readReplicas;
+        }
+
+        public Statements getStatements() {
+            return statements;
+        }
+
+        public static class Statements {
+
+            /**
+             * Whether responses to API requests report the number of SQL statements in a {@code Server-Timing} header.
+             */
+            private boolean serverTiming = false;
+
+            /**
+             * Number of times a same select may run in one request before it is reported as an N+1 pattern.
+             */
+            private int repeatThreshold = 10;
+
+            /**
+             * Whether a request fails, instead of logging a warning, when a select repeats too many times.
+             */
+            private boolean failOnRepeat = false;
+
+            public boolean isServerTiming() {
+                return serverTiming;
+            }
+
+            public void setServerTiming(boolean serverTiming) {
+                this.serverTiming = serverTiming;
+            }
+
+            public int getRepeatThreshold() {
+                return repeatThreshold;
+            }
+
+            public void setRepeatThreshold(int repeatThreshold) {
+                this.repeatThreshold = repeatThreshold;
+            }
+
+            public boolean isFailOnRepeat() {
+                return failOnRepeat;
+            }
+
+            public void setFailOnRepeat(boolean failOnRepeat) {
+                this.failOnRepeat = failOnRepeat;
+            }
+        }
+
+        public static class ReadReplicas {
+
+            /**
+             * Whether read-only transactions are routed to the replicas.
+             */
+            private boolean enabled = false;
+
+            /**
+             * JDBC URLs of the replicas, whose pools copy the settings of the primary pool.
+             */
+            private List<String> urls = new ArrayList<>();
+
+            /**
+             * Replica credentials, defaulting to the primary ones.
+             */
+            private String username;
+
+            private String password;
+
+            /**
+             * Replication lag beyond which a replica is not used until it catches up.
+             */
+            private Duration maxLag = Duration.ofSeconds(10);
+
+            private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+            /**
+             * Query returning the replication lag in seconds.
+             */
+            private String lagQuery =
+                "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+            /**
+             * Time during which the read-only transactions of a user are kept on the primary after they committed a write.
+             */
+            private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public List<String> getUrls() {
+                return urls;
+            }
+
+            public void setUrls(List<String> urls) {
+                this.urls = urls;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Duration getMaxLag() {
+                return maxLag;
+            }
+
+            public void setMaxLag(Duration maxLag) {
+                this.maxLag = maxLag;
+            }
+
+            public Duration getLagCheckInterval() {
+                return lagCheckInterval;
+            }
+
+            public void setLagCheckInterval(Duration lagCheckInterval) {
+                this.lagCheckInterval = lagCheckInterval;
+            }
+
+            public String getLagQuery() {
+                return lagQuery;
+            }
+
+            public void setLagQuery(String lagQuery) {
+                this.lagQuery = lagQuery;
+            }
+
+            public Duration getReadYourWritesWindow() {
+                return readYourWritesWindow;
+            }
+
+            public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+                this.readYourWritesWindow = readYourWritesWindow;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tier, required when a region has a disk tier.
+         */
+        private String diskPath;
+
+        /**
+         * Tiers and expiry of every region, overriding the {@code jhipster.cache.ehcache} defaults.
+         */
+        private final Region defaults = new Region();
+
+        /**
+         * Tiers and expiry of individual regions, keyed by region name, overriding {@link #defaults}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        private final Warmup warmup = new Warmup();
+
+        private final CardResponses cardResponses = new CardResponses();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Region getDefaults() {
+            return defaults;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public Warmup getWarmup() {
+            return warmup;
+        }
+
+        public CardResponses getCardResponses() {
+            return cardResponses;
+        }
+
+        public static class Region {
+
+            private Long heapEntries;
+
+            private DataSize offHeap;
+
+            private DataSize disk;
+
+            /**
+             * Whether the disk tier survives restarts, otherwise it is wiped when the cache manager starts.
+             */
+            private Boolean diskPersistent;
+
+            private Duration timeToLive;
+
+            private Duration timeToIdle;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public DataSize getOffHeap() {
+                return offHeap;
+            }
+
+            public void setOffHeap(DataSize offHeap) {
+                this.offHeap = offHeap;
+            }
+
+            public DataSize getDisk() {
+                return disk;
+            }
+
+            public void setDisk(DataSize disk) {
+                this.disk = disk;
+            }
+
+            public Boolean getDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(Boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Whether evictions are exchanged with the other nodes over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+             */
+            private boolean enabled = false;
+
+            private String channel = "cache_invalidation";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+        }
+
+        public static class Warmup {
+
+            /**
+             * Whether the caches are preloaded on startup, the readiness probe reporting OUT_OF_SERVICE meanwhile.
+             */
+            private boolean enabled = false;
+
+            private boolean categories = true;
+
+            /**
+             * Number of cards preloaded, with their author and category, the most recent first.
+             */
+            private int recentCards = 10000;
+
+            /**
+             * Whether the cards collections of the authors and categories of the preloaded cards are preloaded.
+             */
+            private boolean collections = true;
+
+            /**
+             * Number of cards preloaded in the cards collections of the authors, and as many in those of the categories,
+             * the owners of the most recent cards first.
+             */
+            private int collectionCards = 10000;
+
+            private int batchSize = 500;
+
+            private int parallelism = 4;
+
+            /**
+             * Time after which the readiness probe no longer waits for the warm-up to complete.
+             */
+            private Duration timeout = Duration.ofMinutes(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public boolean isCategories() {
+                return categories;
+            }
+
+            public void setCategories(boolean categories) {
+                this.categories = categories;
+            }
+
+            public int getRecentCards() {
+                return recentCards;
+            }
+
+            public void setRecentCards(int recentCards) {
+                this.recentCards = recentCards;
+            }
+
+            public boolean isCollections() {
+                return collections;
+            }
+
+            public void setCollections(boolean collections) {
+                this.collections = collections;
+            }
+
+            public int getCollectionCards() {
+                return collectionCards;
+            }
+
+            public void setCollectionCards(int collectionCards) {
+                this.collectionCards = collectionCards;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+
+        public static class CardResponses {
+
+            /**
+             * Memory held by the serialized cards, 0 to disable the cache.
+             */
+            private DataSize maxSize = DataSize.ofMegabytes(16);
+
+            /**
+             * Size of the JSON of a card from which a gzip copy is kept, for the clients accepting it.
+             */
+            private DataSize gzipMinSize = DataSize.ofKilobytes(1);
+
+            /**
+             * Time after which a response is read again from the database, bounding how long a response that missed an
+             * eviction can be served.
+             */
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            public DataSize getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(DataSize maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public DataSize getGzipMinSize() {
+                return gzipMinSize;
+            }
+
+            public void setGzipMinSize(DataSize gzipMinSize) {
+                this.gzipMinSize = gzipMinSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    public static class CardCounts {
+
+        /**
+         * Cron expression of the job recounting the cards of the authors and categories whose card count has drifted,
+         * "-" to disable it.
+         */
+        private String reconcileCron = "0 30 3 * * *";
+
+        public String getReconcileCron() {
+            return reconcileCron;
+        }
+
+        public void setReconcileCron(String reconcileCron) {
+            this.reconcileCron = reconcileCron;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -1,34 +1,52 @@
 package me.tisana.miniblog.config;
 
+import java.io.File;
 import java.time.Duration;
+import javax.cache.Caching;
+import org.apache.commons.lang3.ObjectUtils;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
 import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import tech.jhipster.config.JHipsterProperties;
 
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        var ehcache = jHipsterProperties.getCache().getEhcache();
+    private final ApplicationProperties.Cache cacheProperties;
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
-        );
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    /**
+     * Cache manager created from an Ehcache configuration rather than by Spring Boot, so that the disk tier can be given
+     * its directory.
+     */
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> customizers) {
+        var provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        ClassLoader classLoader = provider.getDefaultClassLoader();
+        var configuration = cacheProperties.getDiskPath() == null
+            ? new DefaultConfiguration(classLoader)
+            : new DefaultConfiguration(classLoader, new DefaultPersistenceConfiguration(new File(cacheProperties.getDiskPath())));
+        javax.cache.CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -53,7 +71,48 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, Eh107Configuration.fromEhcacheCacheConfiguration(cacheConfiguration(cacheName)));
+        }
+    }
+
+    private CacheConfigurationBuilder<Object, Object> cacheConfiguration(String cacheName) {
+        var defaults = cacheProperties.getDefaults();
+        var region = cacheProperties.getRegions().getOrDefault(cacheName, new ApplicationProperties.Cache.Region());
+
+        long heapEntries = ObjectUtils.firstNonNull(region.getHeapEntries(), defaults.getHeapEntries(), ehcache.getMaxEntries());
+        long offHeap = ObjectUtils.firstNonNull(region.getOffHeap(), defaults.getOffHeap(), DataSize.ofBytes(0)).toBytes();
+        long disk = ObjectUtils.firstNonNull(region.getDisk(), defaults.getDisk(), DataSize.ofBytes(0)).toBytes();
+        boolean diskPersistent = ObjectUtils.firstNonNull(region.getDiskPersistent(), defaults.getDiskPersistent(), false);
+        Duration timeToLive = ObjectUtils.firstNonNull(
+            region.getTimeToLive(),
+            defaults.getTimeToLive(),
+            Duration.ofSeconds(ehcache.getTimeToLiveSeconds())
+        );
+        Duration timeToIdle = ObjectUtils.firstNonNull(region.getTimeToIdle(), defaults.getTimeToIdle());
+
+        var resourcePools = ResourcePoolsBuilder.heap(heapEntries);
+        if (offHeap > 0) {
+            resourcePools = resourcePools.offheap(offHeap, MemoryUnit.B);
+        }
+        if (disk > 0) {
+            if (cacheProperties.getDiskPath() == null) {
+                throw new IllegalStateException("Cache " + cacheName + " has a disk tier but application.cache.disk-path is not set");
+            }
+            resourcePools = resourcePools.disk(disk, MemoryUnit.B, diskPersistent);
+        }
+
+        // Ehcache resets the expiry of an entry on access, so a time to idle replaces the time to live
+        var expiry = timeToIdle != null
+            ? ExpiryPolicyBuilder.timeToIdleExpiration(timeToIdle)
+            : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive);
+
+        var builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools).withExpiry(expiry);
+        if (offHeap > 0 || disk > 0) {
+            ClassLoader classLoader = getClass().getClassLoader();
+            builder = builder
+                .withKeySerializer(new CacheEntrySerializer(classLoader))
+                .withValueSerializer(new CacheEntrySerializer(classLoader));
         }
+        return builder;
     }
 }
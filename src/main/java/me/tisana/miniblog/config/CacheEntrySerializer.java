@@ -0,0 +1,178 @@
+package me.tisana.miniblog.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import me.tisana.miniblog.domain.enumeration.Status;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+import org.hibernate.cache.internal.BasicCacheKeyImplementation;
+import org.hibernate.cache.internal.CacheKeyImplementation;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+/**
+ * Compact serializer for the keys and entries of the Hibernate second-level cache, used by the off-heap and disk tiers.
+ * <p>
+ * Entries are Java serialized, but the classes making up {@code Card}, {@code Author} and {@code Category} entries are
+ * written as a one byte index instead of a full class descriptor, which takes most of the space of a plain Java
+ * serialized entry. Other classes are written by name.
+ * <p>
+ * As class descriptors are not written, entries written by another version of the application may not be readable:
+ * persistent disk tiers must be cleared when upgrading.
+ */
+public class CacheEntrySerializer implements Serializer<Object> {
+
+    /**
+     * Classes written as their index in this list, which must only be appended to.
+     */
+    private static final List<Class<?>> KNOWN_CLASSES = List.of(
+        AbstractReadWriteAccess.Item.class,
+        AbstractReadWriteAccess.SoftLockImpl.class,
+        StandardCacheEntryImpl.class,
+        CollectionCacheEntry.class,
+        BasicCacheKeyImplementation.class,
+        CacheKeyImplementation.class,
+        Serializable[].class,
+        Object[].class,
+        Number.class,
+        Long.class,
+        Integer.class,
+        Boolean.class,
+        Enum.class,
+        UUID.class,
+        Status.class
+    );
+
+    private static final Map<Class<?>, Integer> KNOWN_CLASS_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_CLASSES.size(); i++) {
+            KNOWN_CLASS_INDEXES.put(KNOWN_CLASSES.get(i), i);
+        }
+    }
+
+    private static final int NAMED_CLASS = 0xFF;
+
+    private final ClassLoader classLoader;
+
+    public CacheEntrySerializer(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public ByteBuffer serialize(Object object) {
+        var bytes = new ByteArrayOutputStream(256);
+        try (var out = new CompactObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException e) {
+            throw new SerializerException("Cannot serialize " + object.getClass().getName(), e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @Override
+    public Object read(ByteBuffer binary) throws ClassNotFoundException {
+        try (var in = new CompactObjectInputStream(new ByteBufferInputStream(binary), classLoader)) {
+            return in.readObject();
+        } catch (IOException e) {
+            throw new SerializerException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object, ByteBuffer binary) throws ClassNotFoundException {
+        return Objects.equals(object, read(binary));
+    }
+
+    private static final class CompactObjectOutputStream extends ObjectOutputStream {
+
+        CompactObjectOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+            // The stream is never read without this serializer.
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            Integer index = KNOWN_CLASS_INDEXES.get(desc.forClass());
+            if (index != null) {
+                writeByte(index);
+            } else {
+                writeByte(NAMED_CLASS);
+                writeUTF(desc.getName());
+            }
+        }
+    }
+
+    private static final class CompactObjectInputStream extends ObjectInputStream {
+
+        private final ClassLoader classLoader;
+
+        CompactObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected void readStreamHeader() {
+            // No header is written by CompactObjectOutputStream.
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            int index = readUnsignedByte();
+            Class<?> type = index == NAMED_CLASS ? Class.forName(readUTF(), false, classLoader) : KNOWN_CLASSES.get(index);
+            return ObjectStreamClass.lookupAny(type);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            Class<?> type = desc.forClass();
+            return type != null ? type : super.resolveClass(desc);
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package me.tisana.miniblog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import me.tisana.miniblog.service.CardResponseCache;
+import me.tisana.miniblog.service.facet.CardFacetService;
+import me.tisana.miniblog.service.search.CardSearchService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cross-node invalidation of the second-level cache, enabled by {@code application.cache.invalidation.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "enabled", havingValue = "true")
+public class CacheInvalidationConfiguration {
+
+    @Bean
+    public CardIndexEvictionListener cardIndexEvictionListener(CardSearchService cardSearchService, CardFacetService cardFacetService) {
+        return new CardIndexEvictionListener(cardSearchService, cardFacetService);
+    }
+
+    @Bean
+    public PostgresCacheInvalidator postgresCacheInvalidator(
+        EntityManagerFactory entityManagerFactory,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        CardResponseCache cardResponseCache,
+        CardIndexEvictionListener cardIndexEvictionListener,
+        MeterRegistry meterRegistry
+    ) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        var invalidator = new PostgresCacheInvalidator(
+            sessionFactory,
+            dataSourceProperties,
+            applicationProperties.getCache().getInvalidation().getChannel(),
+            meterRegistry
+        );
+        invalidator.addListener(new CardResponseEvictionListener(cardResponseCache));
+        invalidator.addListener(cardIndexEvictionListener);
+
+        var listener = new CacheInvalidationListener(sessionFactory.getMappingMetamodel(), invalidator);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        return invalidator;
+    }
+}
@@ -0,0 +1,131 @@
+package me.tisana.miniblog.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.CacheEviction;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.TransactionCompletionCallbacks.AfterCompletionCallback;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.descriptor.java.JavaType;
+
+/**
+ * Hibernate listener collecting the cache entries made stale by a transaction, and publishing their eviction to the
+ * other nodes once the transaction is committed.
+ * <p>
+ * Besides the entity entries, the cached inverse collections the entity belongs to are evicted, for the old and the new
+ * owner, as {@code hibernate.cache.auto_evict_collection_cache} does on the local node. Inserted entities are published
+ * too: the other nodes have no entry to evict yet, but the caches kept beside the second-level cache, such as the card
+ * indexes, learn of them.
+ */
+public class CacheInvalidationListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final PostgresCacheInvalidator invalidator;
+
+    private final Map<String, List<CachedCollection>> collectionsByElement = new HashMap<>();
+
+    public CacheInvalidationListener(MappingMetamodel metamodel, PostgresCacheInvalidator invalidator) {
+        this.invalidator = invalidator;
+        metamodel.forEachCollectionDescriptor(collection -> {
+            String mappedBy = collection.getMappedByProperty();
+            boolean association = collection.isOneToMany() || collection.isManyToMany();
+            if (!collection.hasCache() || !association || mappedBy == null || mappedBy.isEmpty()) {
+                return;
+            }
+            EntityPersister element = collection.getElementPersister();
+            AttributeMapping owner = element.findAttributeMapping(mappedBy);
+            if (owner != null) {
+                collectionsByElement
+                    .computeIfAbsent(element.getEntityName(), entityName -> new ArrayList<>())
+                    .add(new CachedCollection(collection.getRole(), owner.getStateArrayPosition(), collection.getOwnerEntityPersister()));
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        List<CacheEviction> evictions = new ArrayList<>();
+        addEntityEviction(evictions, event.getPersister(), event.getId());
+        addCollectionEvictions(evictions, event.getPersister(), null, event.getState(), event.getSession());
+        publishAfterCommit(event.getSession(), evictions);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        List<CacheEviction> evictions = new ArrayList<>();
+        addEntityEviction(evictions, event.getPersister(), event.getId());
+        addCollectionEvictions(evictions, event.getPersister(), event.getOldState(), event.getState(), event.getSession());
+        publishAfterCommit(event.getSession(), evictions);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        List<CacheEviction> evictions = new ArrayList<>();
+        addEntityEviction(evictions, event.getPersister(), event.getId());
+        addCollectionEvictions(evictions, event.getPersister(), event.getDeletedState(), null, event.getSession());
+        publishAfterCommit(event.getSession(), evictions);
+    }
+
+    private void addEntityEviction(List<CacheEviction> evictions, EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            evictions.add(new CacheEviction(false, persister.getEntityName(), toString(persister, id)));
+        }
+    }
+
+    private void addCollectionEvictions(
+        List<CacheEviction> evictions,
+        EntityPersister persister,
+        Object[] oldState,
+        Object[] state,
+        SharedSessionContractImplementor session
+    ) {
+        for (CachedCollection collection : collectionsByElement.getOrDefault(persister.getEntityName(), List.of())) {
+            Object oldOwnerId = collection.ownerId(oldState, session);
+            Object ownerId = collection.ownerId(state, session);
+            if (oldState != null && state != null && Objects.equals(oldOwnerId, ownerId)) {
+                continue;
+            }
+            for (Object id : new Object[] { oldOwnerId, ownerId }) {
+                if (id != null) {
+                    evictions.add(new CacheEviction(true, collection.role(), toString(collection.owner(), id)));
+                }
+            }
+        }
+    }
+
+    private void publishAfterCommit(SharedSessionContractImplementor session, List<CacheEviction> evictions) {
+        if (!evictions.isEmpty()) {
+            session
+                .getTransactionCompletionCallbacks()
+                .registerCallback((AfterCompletionCallback) (success, completedSession) -> {
+                    if (success) {
+                        invalidator.publish(evictions);
+                    }
+                });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String toString(EntityPersister persister, Object id) {
+        return ((JavaType<Object>) persister.getIdentifierMapping().getJavaType()).toString(id);
+    }
+
+    private record CachedCollection(String role, int ownerPosition, EntityPersister owner) {
+        Object ownerId(Object[] state, SharedSessionContractImplementor session) {
+            if (state == null || state[ownerPosition] == null) {
+                return null;
+            }
+            return owner.getIdentifier(state[ownerPosition], session);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package me.tisana.miniblog.config;
+
+import me.tisana.miniblog.service.CacheWarmupService;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the readiness probe out of service while the second-level cache is warming up.
+ * <p>
+ * A failed or timed-out warm-up is reported as up, as the node can still serve requests from the database.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        CacheWarmupService.Progress progress = cacheWarmupService.getProgress();
+        Health.Builder builder = cacheWarmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("phase", progress.phase())
+            .withDetail("completedBatches", progress.completedBatches())
+            .withDetail("totalBatches", progress.totalBatches())
+            .withDetail("elapsed", progress.elapsed().toString())
+            .build();
+    }
+}
@@ -0,0 +1,99 @@
+package me.tisana.miniblog.config;
+
+import com.carrotsearch.hppc.LongHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.CacheEviction;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.EvictionListener;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.service.facet.CardFacetService;
+import me.tisana.miniblog.service.search.CardSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Refreshes the in-memory card indexes of this node with the cards inserted, changed or deleted by the other nodes.
+ * <p>
+ * Refreshing reads the cards from the database, so it is done by a thread of its own rather than by the invalidation
+ * thread, which must not wait for the connection pool. The cards evicted meanwhile are refreshed together, each refresh
+ * reading the latest state of the cards. When a refresh fails, or evictions may have been missed, the indexes are
+ * rebuilt.
+ */
+public class CardIndexEvictionListener implements EvictionListener, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardIndexEvictionListener.class);
+
+    private static final int MAX_REFRESH_SIZE = 500;
+
+    private final CardSearchService cardSearchService;
+
+    private final CardFacetService cardFacetService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("card-index-refresh").daemon().factory()
+    );
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private LongHashSet pending = new LongHashSet();
+
+    public CardIndexEvictionListener(CardSearchService cardSearchService, CardFacetService cardFacetService) {
+        this.cardSearchService = cardSearchService;
+        this.cardFacetService = cardFacetService;
+    }
+
+    @Override
+    public void evict(CacheEviction eviction) {
+        if (eviction.collection() || !Card.class.getName().equals(eviction.region())) {
+            return;
+        }
+        boolean idle;
+        lock.lock();
+        try {
+            idle = pending.isEmpty();
+            pending.add(Long.parseLong(eviction.id()));
+        } finally {
+            lock.unlock();
+        }
+        if (idle) {
+            executor.execute(this::refreshPending);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        cardSearchService.rebuildIndex();
+        cardFacetService.rebuildIndex();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void refreshPending() {
+        LongHashSet ids;
+        lock.lock();
+        try {
+            ids = pending;
+            pending = new LongHashSet();
+        } finally {
+            lock.unlock();
+        }
+        List<Long> sortedIds = Arrays.stream(ids.toArray()).sorted().boxed().toList();
+        try {
+            for (int from = 0; from < sortedIds.size(); from += MAX_REFRESH_SIZE) {
+                List<Long> chunk = new ArrayList<>(sortedIds.subList(from, Math.min(from + MAX_REFRESH_SIZE, sortedIds.size())));
+                cardSearchService.refresh(chunk);
+                cardFacetService.refresh(chunk);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Cannot refresh {} Cards changed by other nodes, rebuilding the indexes: {}", ids.size(), e.getMessage());
+            evictAll();
+        }
+    }
+}
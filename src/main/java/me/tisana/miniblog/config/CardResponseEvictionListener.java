@@ -0,0 +1,42 @@
+package me.tisana.miniblog.config;
+
+import me.tisana.miniblog.config.PostgresCacheInvalidator.CacheEviction;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.EvictionListener;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.service.CardResponseCache;
+
+/**
+ * Evicts the {@link CardResponseCache} of the cards, authors and categories changed by the other nodes.
+ * <p>
+ * Evictions do not tell which properties changed, so the cards of an author or category are evicted even when only its
+ * card count changed.
+ */
+public class CardResponseEvictionListener implements EvictionListener {
+
+    private final CardResponseCache cardResponseCache;
+
+    public CardResponseEvictionListener(CardResponseCache cardResponseCache) {
+        this.cardResponseCache = cardResponseCache;
+    }
+
+    @Override
+    public void evict(CacheEviction eviction) {
+        if (eviction.collection()) {
+            return;
+        }
+        if (Card.class.getName().equals(eviction.region())) {
+            cardResponseCache.evict(Long.valueOf(eviction.id()));
+        } else if (Author.class.getName().equals(eviction.region())) {
+            cardResponseCache.evictAuthor(Long.valueOf(eviction.id()));
+        } else if (Category.class.getName().equals(eviction.region())) {
+            cardResponseCache.evictCategory(Long.valueOf(eviction.id()));
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        cardResponseCache.clear();
+    }
+}
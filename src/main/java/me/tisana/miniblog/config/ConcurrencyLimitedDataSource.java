@@ -0,0 +1,143 @@
+package me.tisana.miniblog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} capping the number of connections borrowed concurrently.
+ * <p>
+ * Virtual threads are cheap, so a burst of requests can easily outnumber the connections of the pool. Callers above the
+ * limit wait in a fair queue on the semaphore, instead of all polling the pool, and give up after the acquire timeout.
+ * A permit is held from {@link #getConnection()} until the connection is closed.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+
+    private final int limit;
+
+    private final Duration acquireTimeout;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimitedDataSource(DataSource targetDataSource, int limit, Duration acquireTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(limit, true);
+        this.limit = limit;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Limit the concurrent use of a pool, waiting for a permit as long as the pool waits for a connection.
+     *
+     * @param pool the pool.
+     * @param concurrencyLimit the maximum number of connections borrowed concurrently, {@code null} for the pool size.
+     * @return the limited {@link DataSource}.
+     */
+    public static ConcurrencyLimitedDataSource limiting(HikariDataSource pool, Integer concurrencyLimit) {
+        int limit = concurrencyLimit != null ? concurrencyLimit : pool.getMaximumPoolSize();
+        return new ConcurrencyLimitedDataSource(pool, limit, Duration.ofMillis(pool.getConnectionTimeout()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jdbc.concurrency.limit", this, ConcurrencyLimitedDataSource::getLimit)
+            .description("Maximum number of connections borrowed concurrently")
+            .register(registry);
+        Gauge.builder("jdbc.concurrency.available", this, ConcurrencyLimitedDataSource::getAvailablePermits)
+            .description("Number of connections that can still be borrowed without waiting")
+            .register(registry);
+        Gauge.builder("jdbc.concurrency.waiting", permits, Semaphore::getQueueLength)
+            .description("Approximate number of threads waiting to borrow a connection")
+            .register(registry);
+        FunctionCounter.builder("jdbc.concurrency.rejected", rejected, LongAdder::sum)
+            .description("Number of connection requests that timed out waiting for a permit")
+            .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new SQLTransientConnectionException(
+                    "Connection is not available, " + limit + " connections still in use after " + acquireTimeout.toMillis() + "ms"
+                );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            ConcurrencyLimitedDataSource.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                } finally {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+            }
+        );
+    }
+}
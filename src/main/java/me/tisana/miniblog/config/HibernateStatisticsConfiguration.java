@@ -0,0 +1,51 @@
+package me.tisana.miniblog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.persistence.EntityManagerFactory;
+import me.tisana.miniblog.management.HibernateStatisticsMetrics;
+import me.tisana.miniblog.management.MicrometerStatistics;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bridge from the Hibernate statistics to Micrometer, switched on and off at runtime through the
+ * {@code hibernatestatistics} management endpoint.
+ */
+@Configuration
+public class HibernateStatisticsConfiguration {
+
+    /**
+     * Queries are tagged with their HQL, which is bounded by the application code, but capped in case some query
+     * inlines literals, both for the timers kept by {@link MicrometerStatistics} and for the meters of the registry.
+     */
+    private static final int MAX_QUERY_TAGS = 200;
+
+    @Bean
+    public HibernatePropertiesCustomizer micrometerStatisticsFactory(ObjectProvider<MeterRegistry> meterRegistry) {
+        StatisticsFactory statisticsFactory = sessionFactory ->
+            new MicrometerStatistics(sessionFactory, meterRegistry.getObject(), MAX_QUERY_TAGS);
+        return hibernateProperties -> hibernateProperties.put(StatisticsSettings.STATS_BUILDER, statisticsFactory);
+    }
+
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+
+    @Bean
+    public MeterFilter hibernateQueryTagsLimit() {
+        return MeterFilter.maximumAllowableTags(
+            MicrometerStatistics.QUERY_METER_NAME,
+            MicrometerStatistics.QUERY_TAG,
+            MAX_QUERY_TAGS,
+            MeterFilter.deny()
+        );
+    }
+}
@@ -0,0 +1,369 @@
+package me.tisana.miniblog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.regex.Pattern;
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
+import org.hibernate.cache.spi.access.CollectionDataAccess;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Keeps the second-level caches of all the nodes coherent, by exchanging evictions over PostgreSQL
+ * {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * Evictions of committed changes are queued by the {@link CacheInvalidationListener} and sent by a single thread, which
+ * also applies the evictions received from the other nodes. That thread has its own connection, outside of the pool,
+ * so invalidation never competes with requests for connections. When that connection is lost, notifications may have
+ * been missed, so all regions are cleared once it is back. When too many evictions are pending, the next ones are
+ * replaced by the eviction of their whole region, so that the other nodes clear the region rather than miss them.
+ * <p>
+ * A transaction of another node may have read an entry before a change and put it in the cache after its eviction was
+ * received. Evicted entries are therefore locked and released, as Hibernate does for local changes, so that the entries
+ * loaded by transactions started before the eviction are not put in the cache. Clearing a whole region leaves no such
+ * lock, so an entry read before it may still be put in the cache, and is served until its time-to-live.
+ * <p>
+ * Caches kept beside the second-level cache are told of the evictions received by {@link EvictionListener}s.
+ */
+public class PostgresCacheInvalidator implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostgresCacheInvalidator.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    /**
+     * NOTIFY payloads must be shorter than 8000 bytes.
+     */
+    static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    private static final int POLL_MILLIS = 100;
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private static final int MAX_PENDING = 100_000;
+
+    /**
+     * Id standing for all the entries of a region in the payloads, which cannot be the id of an entity.
+     */
+    private static final String WHOLE_REGION = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final BlockingQueue<CacheEviction> pending = new LinkedBlockingQueue<>(MAX_PENDING);
+
+    private final Set<CacheEviction> overflowedRegions = ConcurrentHashMap.newKeySet();
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final String channel;
+
+    private final Counter published;
+
+    private final Counter received;
+
+    private final Counter overflowed;
+
+    private final List<EvictionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public PostgresCacheInvalidator(
+        SessionFactoryImplementor sessionFactory,
+        DataSourceProperties dataSourceProperties,
+        String channel,
+        MeterRegistry meterRegistry
+    ) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel name: " + channel);
+        }
+        this.sessionFactory = sessionFactory;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.published = Counter.builder("cache.invalidation.published")
+            .description("Number of evictions sent to the other nodes")
+            .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received")
+            .description("Number of evictions received from the other nodes")
+            .register(meterRegistry);
+        this.overflowed = Counter.builder("cache.invalidation.overflowed")
+            .description("Number of evictions replaced by the eviction of their region because too many were pending")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue evictions of committed changes, to be sent to the other nodes.
+     * <p>
+     * When too many evictions are pending, the eviction of their whole region is sent instead.
+     *
+     * @param evictions the evictions.
+     */
+    public void publish(Collection<CacheEviction> evictions) {
+        for (CacheEviction eviction : evictions) {
+            if (!pending.offer(eviction)) {
+                overflowedRegions.add(eviction.toWholeRegion());
+                overflowed.increment();
+            }
+        }
+    }
+
+    /**
+     * Register a listener of the evictions received from the other nodes.
+     *
+     * @param listener the listener.
+     */
+    public void addListener(EvictionListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = Thread.ofPlatform().name("cache-invalidation").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            thread.join(RECONNECT_DELAY.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = openConnection()) {
+                if (reconnecting) {
+                    LOG.info("Cache invalidation connection restored, clearing all cache regions");
+                    sessionFactory.getCache().evictAllRegions();
+                    listeners.forEach(EvictionListener::evictAll);
+                }
+                reconnecting = true;
+                listen(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    LOG.warn("Cache invalidation connection failed, reconnecting in {}: {}", RECONNECT_DELAY, e.getMessage());
+                    sleep(RECONNECT_DELAY);
+                }
+            }
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword()
+        );
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        return connection;
+    }
+
+    private void listen(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            while (running) {
+                sendPending(notify);
+                PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            }
+        }
+    }
+
+    private void sendPending(PreparedStatement notify) throws SQLException {
+        List<CacheEviction> evictions = new ArrayList<>();
+        for (Iterator<CacheEviction> regions = overflowedRegions.iterator(); regions.hasNext(); ) {
+            evictions.add(regions.next());
+            regions.remove();
+        }
+        pending.drainTo(evictions);
+        if (evictions.isEmpty()) {
+            return;
+        }
+        try {
+            for (String payload : encode(nodeId, evictions)) {
+                notify.setString(1, channel);
+                notify.setString(2, payload);
+                notify.execute();
+            }
+            published.increment(evictions.size());
+        } catch (SQLException e) {
+            // Evictions are idempotent, so they are all sent again once reconnected
+            publish(evictions);
+            throw e;
+        }
+    }
+
+    void apply(String payload) {
+        List<String> lines = payload.lines().toList();
+        if (lines.isEmpty() || nodeId.equals(lines.getFirst())) {
+            return;
+        }
+        for (CacheEviction eviction : decode(lines.subList(1, lines.size()))) {
+            try {
+                if (eviction.isWholeRegion()) {
+                    evictWholeRegion(eviction);
+                } else {
+                    evictEntry(eviction);
+                }
+                received.increment();
+            } catch (RuntimeException e) {
+                LOG.warn("Cannot apply cache eviction {}: {}", eviction, e.getMessage());
+            }
+        }
+    }
+
+    private void evictEntry(CacheEviction eviction) {
+        if (eviction.collection()) {
+            var collection = sessionFactory.getMappingMetamodel().getCollectionDescriptor(eviction.region());
+            Object ownerId = collection.getOwnerEntityPersister().getIdentifierMapping().getJavaType().fromString(eviction.id());
+            CollectionDataAccess access = collection.getCacheAccessStrategy();
+            if (access != null) {
+                lockAndUnlock(access, access.generateCacheKey(ownerId, collection, sessionFactory, null));
+            }
+        } else {
+            var entity = sessionFactory.getMappingMetamodel().getEntityDescriptor(eviction.region());
+            Object id = entity.getIdentifierMapping().getJavaType().fromString(eviction.id());
+            EntityDataAccess access = entity.getCacheAccessStrategy();
+            if (access != null) {
+                lockAndUnlock(access, access.generateCacheKey(id, entity, sessionFactory, null));
+            }
+        }
+        listeners.forEach(listener -> listener.evict(eviction));
+    }
+
+    /**
+     * Evict an entry as Hibernate does for the changes of this node: the entry is replaced by a released lock, which
+     * rejects the entries loaded by the transactions started before it, as these may have read the state from before
+     * the change, until the lock times out.
+     */
+    private void lockAndUnlock(CachedDomainDataAccess access, Object key) {
+        try (SessionImplementor session = sessionFactory.openTemporarySession()) {
+            SoftLock lock = access.lockItem(session, key, null);
+            access.unlockItem(session, key, lock);
+        }
+    }
+
+    private void evictWholeRegion(CacheEviction eviction) {
+        LOG.info("Clearing cache region {}, as another node had too many evictions pending", eviction.region());
+        if (eviction.collection()) {
+            sessionFactory.getCache().evictCollectionData(eviction.region());
+        } else {
+            sessionFactory.getCache().evictEntityData(eviction.region());
+        }
+        listeners.forEach(EvictionListener::evictAll);
+    }
+
+    static List<String> encode(String nodeId, List<CacheEviction> evictions) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (CacheEviction eviction : evictions) {
+            String id = eviction.isWholeRegion() ? WHOLE_REGION : eviction.id();
+            String line = (eviction.collection() ? "C" : "E") + '\t' + eviction.region() + '\t' + id;
+            if (payload.length() + 1 + line.length() > MAX_PAYLOAD_LENGTH && payload.length() > nodeId.length()) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(line);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    static List<CacheEviction> decode(List<String> lines) {
+        return lines
+            .stream()
+            .map(line -> line.split("\t", 3))
+            .filter(fields -> fields.length == 3)
+            .map(fields -> new CacheEviction("C".equals(fields[0]), fields[1], WHOLE_REGION.equals(fields[2]) ? null : fields[2]))
+            .toList();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Eviction of an entry of an entity or collection region, or of the whole region.
+     *
+     * @param collection whether the region is a collection region.
+     * @param region the entity name or collection role.
+     * @param id the identifier of the entity or of the collection owner, as a string, {@code null} for the whole region.
+     */
+    public record CacheEviction(boolean collection, String region, String id) {
+        /**
+         * @return whether all the entries of the region are evicted.
+         */
+        public boolean isWholeRegion() {
+            return id == null;
+        }
+
+        CacheEviction toWholeRegion() {
+            return new CacheEviction(collection, region, null);
+        }
+    }
+
+    /**
+     * Listener of the evictions received from the other nodes, applied once the second-level cache is evicted.
+     */
+    public interface EvictionListener {
+        /**
+         * Apply an eviction of an entry received from another node, the evictions of whole regions being applied by
+         * {@link #evictAll()}.
+         *
+         * @param eviction the eviction.
+         */
+        void evict(CacheEviction eviction);
+
+        /**
+         * Evict everything, as evictions may have been missed.
+         */
+        void evictAll();
+    }
+}
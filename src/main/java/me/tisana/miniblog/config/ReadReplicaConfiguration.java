@@ -0,0 +1,139 @@
+package me.tisana.miniblog.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routing of the read-only transactions to read replicas, enabled by {@code application.jdbc.read-replicas.enabled}.
+ * <p>
+ * Hibernate is given a {@link LazyConnectionDataSourceProxy}, which defers getting the actual connection until the first
+ * statement: by then, Spring has registered the current transaction as read-only or not, and the
+ * {@link ReadReplicaRouter} can choose the database. Other users of the {@link DataSource}, such as Liquibase, keep
+ * using the primary.
+ * <p>
+ * A replica may lag behind the evictions of the second-level cache, so the sessions reading from a replica only get
+ * entries from the cache: caching what they read could bring back a state evicted when a newer one was committed.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.jdbc.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ApplicationProperties applicationProperties) {
+        return new ReadYourWritesTracker(applicationProperties.getJdbc().getReadReplicas().getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(
+        DataSource dataSource,
+        ApplicationProperties applicationProperties,
+        ReadYourWritesTracker readYourWritesTracker,
+        ObjectProvider<MeterRegistry> meterRegistry,
+        Environment environment
+    ) throws SQLException {
+        ApplicationProperties.Jdbc.ReadReplicas properties = applicationProperties.getJdbc().getReadReplicas();
+        HikariDataSource primaryPool = dataSource.unwrap(HikariDataSource.class);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryPool.copyStateTo(config);
+            config.setPoolName(primaryPool.getPoolName() + "-replica-" + (i + 1));
+            config.setJdbcUrl(properties.getUrls().get(i));
+            if (properties.getUsername() != null) {
+                config.setUsername(properties.getUsername());
+                config.setPassword(properties.getPassword());
+            }
+            if (config.getMetricsTrackerFactory() == null && config.getMetricRegistry() == null) {
+                meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            }
+            config.setReadOnly(true);
+            // An unreachable replica must not prevent the application from starting
+            config.setInitializationFailTimeout(-1);
+            HikariDataSource replica = new HikariDataSource(config);
+            // Capped as the primary is by VirtualThreadConfiguration, the replicas serving most of the reads
+            replicas.add(
+                Threading.VIRTUAL.isActive(environment)
+                    ? ConcurrencyLimitedDataSource.limiting(replica, applicationProperties.getJdbc().getConcurrencyLimit())
+                    : replica
+            );
+        }
+        return new ReadReplicaRouter(
+            dataSource,
+            replicas,
+            readYourWritesTracker,
+            properties.getMaxLag(),
+            properties.getLagQuery(),
+            properties.getLagCheckInterval()
+        );
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer readReplicaRouting(ReadReplicaRouter readReplicaRouter) {
+        LazyConnectionDataSourceProxy routingDataSource = new LazyConnectionDataSourceProxy(readReplicaRouter.getDataSource());
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, routingDataSource);
+    }
+
+    @Bean
+    public InitializingBean readYourWritesListener(EntityManagerFactory entityManagerFactory, ReadYourWritesTracker readYourWritesTracker) {
+        return () -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, readYourWritesTracker);
+            registry.appendListeners(EventType.POST_UPDATE, readYourWritesTracker);
+            registry.appendListeners(EventType.POST_DELETE, readYourWritesTracker);
+        };
+    }
+
+    @Bean
+    public InitializingBean replicaReadCacheMode(EntityManagerFactory entityManagerFactory, ReadReplicaRouter readReplicaRouter) {
+        return () -> readReplicaRouter.setReplicaReadListener(() -> readFromCacheOnly(entityManagerFactory));
+    }
+
+    /**
+     * Keep the session of the current transaction from putting entries in the second-level cache, until the transaction
+     * completes.
+     */
+    private static void readFromCacheOnly(EntityManagerFactory entityManagerFactory) {
+        if (!(TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder holder)) {
+            return;
+        }
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        session.setCacheMode(cacheMode);
+                    }
+                }
+            );
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package me.tisana.miniblog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chooses the database serving each transaction, through the {@link DataSource} returned by {@link #getDataSource()}:
+ * read-write transactions always use the primary, read-only ones preferably use a replica.
+ * <p>
+ * Connections are taken from the replicas in turn, skipping those lagging behind the primary by more than the maximum
+ * lag, or which could not be reached on the last check. The primary serves the read-only transactions when no replica is
+ * available, and those of the users who recently committed a write, as known by the {@link ReadYourWritesTracker}.
+ * Replicas are only used once their lag has been checked.
+ * <p>
+ * The rows read from a replica may predate changes already committed on the primary, and evicted from the caches: the
+ * replica read listener is called as a transaction gets a replica connection, before it reads anything, so that what
+ * the transaction reads is kept out of the caches.
+ */
+public class ReadReplicaRouter implements SmartLifecycle, MeterBinder, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final double maxLagSeconds;
+
+    private final String lagQuery;
+
+    private final Duration lagCheckInterval;
+
+    private final DataSource dataSource = new RoutingDataSource();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder fallbackReads = new LongAdder();
+
+    private final LongAdder recentWriterReads = new LongAdder();
+
+    private volatile Runnable replicaReadListener = () -> {};
+
+    private ScheduledExecutorService scheduler;
+
+    public ReadReplicaRouter(
+        DataSource primary,
+        List<? extends DataSource> replicas,
+        ReadYourWritesTracker readYourWritesTracker,
+        Duration maxLag,
+        String lagQuery,
+        Duration lagCheckInterval
+    ) throws SQLException {
+        this.primary = primary;
+        List<Replica> replicaList = new ArrayList<>(replicas.size());
+        for (DataSource replica : replicas) {
+            replicaList.add(new Replica(replica));
+        }
+        this.replicas = List.copyOf(replicaList);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        this.lagCheckInterval = lagCheckInterval;
+    }
+
+    /**
+     * Get the {@link DataSource} routing connections according to the current transaction, which must be known when the
+     * connection is requested: it is meant to be wrapped by a
+     * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+     *
+     * @return the routing {@link DataSource}.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Set the listener called in the transactions given a replica connection, before their first statement.
+     *
+     * @param replicaReadListener the listener.
+     */
+    public void setReplicaReadListener(Runnable replicaReadListener) {
+        this.replicaReadListener = replicaReadListener;
+    }
+
+    /**
+     * Check the lag of every replica, updating which ones can serve reads.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+        readYourWritesTracker.purgeExpired();
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("read-replica-check").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Close the replica pools, once Hibernate is done with them.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindReadCounter(registry, "replica", replicaReads);
+        bindReadCounter(registry, "primary-fallback", fallbackReads);
+        bindReadCounter(registry, "primary-recent-write", recentWriterReads);
+        for (Replica replica : replicas) {
+            Gauge.builder("jdbc.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag of the replica, NaN when it cannot be reached")
+                .baseUnit("seconds")
+                .tag("pool", replica.name())
+                .register(registry);
+            Gauge.builder("jdbc.replica.available", replica, r -> r.available ? 1 : 0)
+                .description("Whether the replica serves read-only transactions")
+                .tag("pool", replica.name())
+                .register(registry);
+        }
+    }
+
+    private static void bindReadCounter(MeterRegistry registry, String target, LongAdder counter) {
+        FunctionCounter.builder("jdbc.replica.routed", counter, LongAdder::sum)
+            .description("Number of connections given to read-only transactions")
+            .tag("target", target)
+            .register(registry);
+    }
+
+    private Connection getReadOnlyConnection() throws SQLException {
+        if (readYourWritesTracker.isCurrentUserRecentWriter()) {
+            recentWriterReads.increment();
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    replicaReadListener.run();
+                    return connection;
+                } catch (SQLException e) {
+                    LOG.warn("Cannot get a connection from replica {}, until its next check: {}", replica.name(), e.getMessage());
+                    replica.available = false;
+                }
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    private final class Replica {
+
+        private final DataSource dataSource;
+
+        private final HikariDataSource pool;
+
+        private volatile boolean available;
+
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(DataSource dataSource) throws SQLException {
+            this.dataSource = dataSource;
+            this.pool = dataSource.unwrap(HikariDataSource.class);
+        }
+
+        private String name() {
+            return pool.getPoolName();
+        }
+
+        private void check() {
+            boolean wasAvailable = available;
+            try (
+                Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(lagQuery)
+            ) {
+                lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.NaN;
+                available = lagSeconds <= maxLagSeconds;
+            } catch (SQLException | RuntimeException e) {
+                lagSeconds = Double.NaN;
+                available = false;
+                if (wasAvailable) {
+                    LOG.warn("Cannot check the lag of replica {}: {}", name(), e.getMessage());
+                }
+            }
+            if (available != wasAvailable) {
+                LOG.info("Replica {} {} read-only transactions, lag is {}s", name(), available ? "serves" : "no longer serves", lagSeconds);
+            }
+        }
+    }
+
+    private final class RoutingDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return getReadOnlyConnection();
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package me.tisana.miniblog.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import me.tisana.miniblog.security.SecurityUtils;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.TransactionCompletionCallbacks.AfterCompletionCallback;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+
+/**
+ * Hibernate listener remembering which users recently committed a write, so that their reads are served by the primary
+ * until the replicas have caught up.
+ * <p>
+ * Writes are remembered by this node only, so reads are kept on the primary as long as the load balancer sends the
+ * user to the node which served the write.
+ */
+public class ReadYourWritesTracker implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final long windowNanos;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        recordAfterCommit(event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        recordAfterCommit(event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        recordAfterCommit(event.getSession());
+    }
+
+    /**
+     * Whether the current user committed a write within the window.
+     *
+     * @return {@code true} if the reads of the current user should be served by the primary.
+     */
+    public boolean isCurrentUserRecentWriter() {
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty()) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(login.orElseThrow());
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    /**
+     * Forget the writes older than the window.
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+
+    void recordWrite(String login) {
+        lastWrites.put(login, System.nanoTime());
+    }
+
+    private void recordAfterCommit(SharedSessionContractImplementor session) {
+        SecurityUtils.getCurrentUserLogin().ifPresent(login ->
+            session
+                .getTransactionCompletionCallbacks()
+                .registerCallback((AfterCompletionCallback) (success, completedSession) -> {
+                    if (success) {
+                        recordWrite(login);
+                    }
+                })
+        );
+    }
+}
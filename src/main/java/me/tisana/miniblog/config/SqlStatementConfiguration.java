@@ -0,0 +1,38 @@
+package me.tisana.miniblog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.tisana.miniblog.management.SqlStatementCounter;
+import me.tisana.miniblog.web.filter.SqlStatementCountingFilter;
+import org.hibernate.cfg.JdbcSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Counting of the SQL statements of each API request, and detection of N+1 patterns.
+ */
+@Configuration
+public class SqlStatementConfiguration {
+
+    private final ApplicationProperties.Jdbc.Statements properties;
+
+    public SqlStatementConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getJdbc().getStatements();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        SqlStatementCounter counter = new SqlStatementCounter(properties.getRepeatThreshold(), properties.isFailOnRepeat());
+        return hibernateProperties -> hibernateProperties.put(JdbcSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountingFilter> sqlStatementCountingFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementCountingFilter> registration = new FilterRegistrationBean<>(
+            new SqlStatementCountingFilter(meterRegistry, properties.isServerTiming())
+        );
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
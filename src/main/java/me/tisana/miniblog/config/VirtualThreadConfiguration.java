@@ -0,0 +1,60 @@
+package me.tisana.miniblog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration applied when requests and {@code @Async} tasks run on virtual threads, that is when
+ * {@code spring.threads.virtual.enabled} is set.
+ * <p>
+ * Spring Boot then switches Tomcat to virtual threads, and {@link AsyncConfiguration} does the same for the
+ * {@code taskExecutor}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    private static final Duration PINNED_THRESHOLD = Duration.ofMillis(20);
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                    return bean;
+                }
+                Integer concurrencyLimit = applicationProperties.getObject().getJdbc().getConcurrencyLimit();
+                ConcurrencyLimitedDataSource limited = ConcurrencyLimitedDataSource.limiting(hikariDataSource, concurrencyLimit);
+                LOG.debug("Limiting concurrent use of DataSource '{}' to {} connections", beanName, limited.getLimit());
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcConcurrencyMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry ->
+            dataSources
+                .stream()
+                .filter(ConcurrencyLimitedDataSource.class::isInstance)
+                .forEach(dataSource -> ((ConcurrencyLimitedDataSource) dataSource).bindTo(registry));
+    }
+
+    @Bean
+    public VirtualThreadPinnedMetrics virtualThreadPinnedMetrics() {
+        return new VirtualThreadPinnedMetrics(PINNED_THRESHOLD);
+    }
+}
@@ -0,0 +1,58 @@
+package me.tisana.miniblog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Metrics on virtual threads pinned to their carrier thread, or that could not be scheduled, recorded from the JFR
+ * {@code jdk.VirtualThreadPinned} and {@code jdk.VirtualThreadSubmitFailed} events.
+ * <p>
+ * Meter names are the ones of Micrometer's {@code VirtualThreadMetrics}, so dashboards keep working if the
+ * {@code micrometer-java21} module is added later.
+ */
+public class VirtualThreadPinnedMetrics implements MeterBinder, AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+
+    private final Duration pinnedThreshold;
+
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinnedMetrics(Duration pinnedThreshold) {
+        this.pinnedThreshold = pinnedThreshold;
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("The duration while the virtual thread was pinned without releasing its platform thread")
+            .register(registry);
+        Counter submitFailed = Counter.builder("jvm.threads.virtual.submit.failed")
+            .description("The number of events when starting or unparking a virtual thread failed")
+            .register(registry);
+
+        if (recordingStream == null) {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold);
+            recordingStream.enable(SUBMIT_FAILED_EVENT);
+            recordingStream.setMaxAge(Duration.ofSeconds(10));
+            recordingStream.startAsync();
+        }
+        recordingStream.onEvent(PINNED_EVENT, event -> pinned.record(event.getDuration()));
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailed.increment());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+}
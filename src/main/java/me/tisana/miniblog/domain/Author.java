@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 /**
  * A Author.
@@ -16,6 +18,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "author")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Author implements Serializable {
 
@@ -42,6 +45,18 @@ public class Author implements Serializable {
     @JsonIgnoreProperties(value = { "author", "category" }, allowSetters = true)
     private Set<Card> cards = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Number of cards of the author, maintained by the card service. Changing it does not increment the version, so that
+     * concurrent updates of the cards of the author do not conflict with each other.
+     */
+    @OptimisticLock(excluded = true)
+    @Column(name = "card_count", nullable = false)
+    private Long cardCount = 0L;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -114,6 +129,32 @@ public class Author implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Author version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCardCount() {
+        return this.cardCount;
+    }
+
+    public Author cardCount(Long cardCount) {
+        this.setCardCount(cardCount);
+        return this;
+    }
+
+    public void setCardCount(Long cardCount) {
+        this.cardCount = cardCount;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -139,6 +180,7 @@ public class Author implements Serializable {
         return "Author{" +
             "id=" + getId() +
             ", username='" + getUsername() + "'" +
+            ", cardCount=" + getCardCount() +
             "}";
     }
 }
@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 /**
  * A Category.
@@ -16,6 +18,7 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Entity
 @Table(name = "category")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Category implements Serializable {
 
@@ -37,6 +40,18 @@ public class Category implements Serializable {
     @JsonIgnoreProperties(value = { "author", "category" }, allowSetters = true)
     private Set<Card> cards = new HashSet<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Number of cards of the category, maintained by the card service. Changing it does not increment the version, so that
+     * concurrent updates of the cards of the category do not conflict with each other.
+     */
+    @OptimisticLock(excluded = true)
+    @Column(name = "card_count", nullable = false)
+    private Long cardCount = 0L;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -96,6 +111,32 @@ public class Category implements Serializable {
         return this;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Category version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCardCount() {
+        return this.cardCount;
+    }
+
+    public Category cardCount(Long cardCount) {
+        this.setCardCount(cardCount);
+        return this;
+    }
+
+    public void setCardCount(Long cardCount) {
+        this.cardCount = cardCount;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -121,6 +162,7 @@ public class Category implements Serializable {
         return "Category{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", cardCount=" + getCardCount() +
             "}";
     }
 }
@@ -0,0 +1,54 @@
+package me.tisana.miniblog.management;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint turning the collection of Hibernate statistics on and off at runtime, published at
+ * {@code /management/hibernatestatistics}.
+ * <p>
+ * {@code POST} a JSON body such as <code>{"enabled": true}</code> to change it. Statistics start collected or not
+ * according to {@code hibernate.generate_statistics}.
+ */
+@Component
+@Endpoint(id = "hibernatestatistics")
+public class HibernateStatisticsEndpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HibernateStatisticsEndpoint.class);
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", statistics.isStatisticsEnabled());
+        status.put("start", statistics.getStart());
+        status.put("queryExecutionCount", statistics.getQueryExecutionCount());
+        status.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+        status.put("queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+        status.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+        status.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+        status.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(boolean enabled) {
+        LOG.info("Hibernate statistics {}", enabled ? "enabled" : "disabled");
+        statistics.setStatisticsEnabled(enabled);
+        return status();
+    }
+}
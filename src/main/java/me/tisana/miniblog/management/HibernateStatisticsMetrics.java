@@ -0,0 +1,106 @@
+package me.tisana.miniblog.management;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Publishes the Hibernate {@link Statistics} as Micrometer meters: per region second-level cache hits, misses and puts,
+ * per entity loads, fetches and writes, per collection role fetches, and session, transaction and statement counts.
+ * <p>
+ * Meters read the statistics when scraped, so they only move while statistics are enabled, see
+ * {@link HibernateStatisticsEndpoint}. The execution times of the queries are recorded by {@link MicrometerStatistics}.
+ */
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hibernate.statistics.enabled", statistics, s -> s.isStatisticsEnabled() ? 1 : 0)
+            .description("Whether Hibernate statistics are collected")
+            .register(registry);
+        counter(registry, "hibernate.sessions.open", "Number of sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.statements", "Number of statements prepared", Statistics::getPrepareStatementCount);
+        FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getSuccessfulTransactionCount)
+            .description("Number of transactions completed")
+            .tag("result", "success")
+            .register(registry);
+        FunctionCounter.builder("hibernate.transactions", statistics, s -> s.getTransactionCount() - s.getSuccessfulTransactionCount())
+            .description("Number of transactions completed")
+            .tag("result", "failure")
+            .register(registry);
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regionCounter(registry, "hibernate.second.level.cache.requests", region, "hit", CacheRegionStatistics::getHitCount);
+            regionCounter(registry, "hibernate.second.level.cache.requests", region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.second.level.cache.puts", statistics, s ->
+                s.getDomainDataRegionStatistics(region).getPutCount()
+            )
+                .description("Number of entries put in the second-level cache")
+                .tag("region", region)
+                .register(registry);
+        }
+
+        for (String entity : statistics.getEntityNames()) {
+            entityCounter(registry, "hibernate.entities.loads", "Number of entities loaded", entity, EntityStatistics::getLoadCount);
+            entityCounter(
+                registry,
+                "hibernate.entities.fetches",
+                "Number of entities fetched by a separate query",
+                entity,
+                EntityStatistics::getFetchCount
+            );
+            entityCounter(registry, "hibernate.entities.inserts", "Number of entities inserted", entity, EntityStatistics::getInsertCount);
+            entityCounter(registry, "hibernate.entities.updates", "Number of entities updated", entity, EntityStatistics::getUpdateCount);
+            entityCounter(registry, "hibernate.entities.deletes", "Number of entities deleted", entity, EntityStatistics::getDeleteCount);
+        }
+
+        for (String role : statistics.getCollectionRoleNames()) {
+            FunctionCounter.builder("hibernate.collections.fetches", statistics, s -> s.getCollectionStatistics(role).getFetchCount())
+                .description("Number of collections fetched by a separate query")
+                .tag("role", role)
+                .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count).description(description).register(registry);
+    }
+
+    private void regionCounter(
+        MeterRegistry registry,
+        String name,
+        String region,
+        String result,
+        ToDoubleFunction<CacheRegionStatistics> count
+    ) {
+        FunctionCounter.builder(name, statistics, s -> count.applyAsDouble(s.getDomainDataRegionStatistics(region)))
+            .description("Number of second-level cache lookups")
+            .tag("region", region)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private void entityCounter(
+        MeterRegistry registry,
+        String name,
+        String description,
+        String entity,
+        ToDoubleFunction<EntityStatistics> count
+    ) {
+        FunctionCounter.builder(name, statistics, s -> count.applyAsDouble(s.getEntityStatistics(entity)))
+            .description(description)
+            .tag("entity", entity)
+            .register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package me.tisana.miniblog.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate {@link org.hibernate.stat.Statistics} also recording the execution time of every query in a Micrometer
+ * timer, with a histogram.
+ * <p>
+ * Hibernate only reports query executions while statistics are enabled, so nothing is recorded otherwise. The timers
+ * are kept per query, so that executions only look them up, and only for a bounded number of queries: the executions
+ * of the other queries are not recorded.
+ */
+public class MicrometerStatistics extends StatisticsImpl {
+
+    public static final String QUERY_METER_NAME = "hibernate.query.executions";
+
+    public static final String QUERY_TAG = "query";
+
+    private final MeterRegistry registry;
+
+    private final int maxQueries;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public MicrometerStatistics(SessionFactoryImplementor sessionFactory, MeterRegistry registry, int maxQueries) {
+        super(sessionFactory);
+        this.registry = registry;
+        this.maxQueries = maxQueries;
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        Timer timer = timers.get(hql);
+        if (timer == null) {
+            if (timers.size() >= maxQueries) {
+                return;
+            }
+            timer = timers.computeIfAbsent(hql, this::registerTimer);
+        }
+        timer.record(time, TimeUnit.MILLISECONDS);
+    }
+
+    private Timer registerTimer(String hql) {
+        return Timer.builder(QUERY_METER_NAME)
+            .description("Execution time of the queries")
+            .tag(QUERY_TAG, hql)
+            .publishPercentileHistogram()
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+}
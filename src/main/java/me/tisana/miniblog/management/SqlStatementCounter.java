@@ -0,0 +1,147 @@
+package me.tisana.miniblog.management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hibernate {@link StatementInspector} counting the SQL statements prepared within a {@link Scope}, such as an HTTP
+ * request, and detecting N+1 patterns: the same select running more than the repeat threshold in one scope.
+ * <p>
+ * Scopes are bound to the current thread and may be nested, a statement being counted in all the open scopes.
+ * Statements prepared outside of any scope are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatementCounter.class);
+
+    private static final ThreadLocal<List<Scope>> SCOPES = new ThreadLocal<>();
+
+    /**
+     * Parameter lists, whose length depends on the number of values, e.g. {@code in (?,?,?)}.
+     */
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private final int repeatThreshold;
+
+    private final boolean failOnRepeat;
+
+    public SqlStatementCounter(int repeatThreshold, boolean failOnRepeat) {
+        this.repeatThreshold = repeatThreshold;
+        this.failOnRepeat = failOnRepeat;
+    }
+
+    /**
+     * Open a scope on the current thread, to be closed on the same thread.
+     *
+     * @param name the name of the scope, reported when a select repeats.
+     * @return the scope.
+     */
+    public static Scope open(String name) {
+        List<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayList<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.add(scope);
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return sql;
+        }
+        String shape = shapeOf(sql);
+        boolean select = isSelect(shape);
+        for (Scope scope : scopes) {
+            int executions = scope.record(shape);
+            if (select && executions == repeatThreshold + 1) {
+                scope.repeated++;
+                if (failOnRepeat) {
+                    throw new IllegalStateException(
+                        "Select run more than " + repeatThreshold + " times in " + scope.name + ", possible N+1: " + shape
+                    );
+                }
+                LOG.warn("Select run more than {} times in {}, possible N+1: {}", repeatThreshold, scope.name, shape);
+            }
+        }
+        return sql;
+    }
+
+    static String shapeOf(String sql) {
+        return PARAMETER_LIST.matcher(sql.strip()).replaceAll("(?)");
+    }
+
+    private static boolean isSelect(String shape) {
+        String start = shape.substring(0, Math.min(shape.length(), 6)).toLowerCase(Locale.ROOT);
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    /**
+     * Statements counted on the current thread until closed.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+
+        private final Map<String, Integer> executionsByShape = new LinkedHashMap<>();
+
+        private int count;
+
+        private int repeated;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private int record(String shape) {
+            count++;
+            return executionsByShape.merge(shape, 1, Integer::sum);
+        }
+
+        /**
+         * Get the number of statements prepared in this scope so far.
+         *
+         * @return the number of statements.
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Get the number of selects which ran more than the repeat threshold.
+         *
+         * @return the number of repeated selects.
+         */
+        public int getRepeated() {
+            return repeated;
+        }
+
+        /**
+         * Get the statements prepared in this scope, with parameter lists collapsed, and how many times each ran.
+         *
+         * @return the number of executions by statement, in order of first execution.
+         */
+        public Map<String, Integer> getExecutionsByShape() {
+            return Collections.unmodifiableMap(executionsByShape);
+        }
+
+        @Override
+        public void close() {
+            List<Scope> scopes = SCOPES.get();
+            if (scopes != null && scopes.remove(this) && scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package me.tisana.miniblog.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import me.tisana.miniblog.domain.Author;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,77 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {}
+public interface AuthorRepository extends JpaRepository<Author, Long> {
+    /**
+     * Find the values the entity tag of a author is built from, without loading the author.
+     *
+     * @param id the id of the author.
+     * @return the version and the card count of the author.
+     */
+    @Query("select author.version as version, author.cardCount as cardCount from Author author where author.id = :id")
+    Optional<AuthorVersion> findVersionById(@Param("id") Long id);
+
+    @Query(
+        "select count(author) as total, coalesce(sum(author.id), 0) as idSum," +
+        " coalesce(sum(author.version + author.cardCount * author.id), 0) as versionSum from Author author"
+    )
+    VersionStamp findVersionStamp();
+
+    /**
+     * Find authors with their cards, initializing the cached cards collection.
+     *
+     * @param ids the ids of the authors.
+     * @return the authors.
+     */
+    @Query("select distinct author from Author author left join fetch author.cards where author.id in :ids")
+    List<Author> findAllWithCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find authors and lock them until the end of the transaction, in the order of their ids so that transactions
+     * locking several of them do not deadlock.
+     *
+     * @param ids the ids of the authors.
+     * @return the authors.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select author from Author author where author.id in :ids order by author.id")
+    List<Author> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all the authors in the order of their ids, through a forward-only cursor.
+     * <p>
+     * Rows are fetched from the database in chunks of the fetch size, loaded read-only and kept out of the
+     * second-level cache. The stream must be consumed and closed within a transaction.
+     *
+     * @return the stream of authors.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select author from Author author order by author.id")
+    Stream<Author> streamAll();
+
+    /**
+     * Find the authors whose card count differs from their number of cards.
+     *
+     * @return the ids of the authors.
+     */
+    @Query(
+        "select author.id from Author author left join author.cards card" +
+        " group by author.id, author.cardCount having author.cardCount <> count(card)"
+    )
+    List<Long> findIdsWithStaleCardCount();
+
+    /**
+     * Projection of the values the entity tag of a author is built from.
+     */
+    interface AuthorVersion {
+        Long getVersion();
+
+        Long getCardCount();
+    }
+}
@@ -1,10 +1,20 @@
 package me.tisana.miniblog.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.enumeration.Status;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,7 +23,12 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Card entity.
  */
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
+    String SELECT_SUMMARIES =
+        "select new me.tisana.miniblog.repository.CardSummary(card.id, card.name, card.status, card.version," +
+        " author.id, author.username, author.version, category.id, category.name, category.version)" +
+        " from Card card left join card.author author left join card.category category";
+
     default Optional<Card> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -35,6 +50,224 @@ public interface CardRepository extends JpaRepository<Card, Long> {
     @Query("select card from Card card left join fetch card.author left join fetch card.category")
     List<Card> findAllWithToOneRelationships();
 
+    /**
+     * Find a slice of cards with their to-one relationships, reading one extra row instead of counting all the cards.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of cards.
+     */
+    @Query("select card from Card card left join fetch card.author left join fetch card.category")
+    Slice<Card> findSliceWithToOneRelationships(Pageable pageable);
+
+    /**
+     * Estimate the number of cards from the planner statistics, scaled by the current size of the table as
+     * the planner does, instead of scanning it.
+     *
+     * @return the estimated number of cards, negative if the table has never been analyzed.
+     */
+    @Query(
+        value = "select cast(case when c.relpages > 0" +
+        " then c.reltuples / c.relpages * (pg_relation_size(c.oid) / cast(current_setting('block_size') as integer))" +
+        " else c.reltuples end as bigint) from pg_class c where c.oid = cast('card' as regclass)",
+        nativeQuery = true
+    )
+    long estimateCount();
+
+    /**
+     * Try to take a PostgreSQL advisory lock, released at the end of the transaction, without waiting for it.
+     *
+     * @param key the key of the lock.
+     * @return whether the lock was taken.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryTransactionLock(@Param("key") long key);
+
+    /**
+     * Stream all the cards with their to-one relationships, through a forward-only cursor.
+     * <p>
+     * Rows are fetched from the database in chunks of the fetch size, loaded read-only and kept out of the
+     * second-level cache. The stream must be consumed and closed within a transaction.
+     *
+     * @return the stream of cards.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select card from Card card left join fetch card.author left join fetch card.category")
+    Stream<Card> streamAllWithToOneRelationships();
+
+    /**
+     * Stream the searchable text of all the cards, through a forward-only cursor.
+     *
+     * @return the stream of card texts.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select card.id as id, card.name as name, card.content as content from Card card")
+    Stream<CardText> streamAllTexts();
+
+    /**
+     * Find the searchable text of the cards of a list of ids.
+     *
+     * @param ids the ids of the cards.
+     * @return the texts of the existing cards.
+     */
+    @Query("select card.id as id, card.name as name, card.content as content from Card card where card.id in :ids")
+    List<CardText> findAllTextsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream the facet values of all the cards, through a forward-only cursor.
+     * <p>
+     * The ids of the author and category are read from the foreign key columns, without joining their tables.
+     *
+     * @return the stream of card facets.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select card.id as id, card.status as status, card.category.id as categoryId, card.author.id as authorId from Card card")
+    Stream<CardFacets> streamAllFacets();
+
+    /**
+     * Find the facet values of the cards of a list of ids.
+     *
+     * @param ids the ids of the cards.
+     * @return the facets of the existing cards.
+     */
+    @Query(
+        "select card.id as id, card.status as status, card.category.id as categoryId, card.author.id as authorId from Card card" +
+        " where card.id in :ids"
+    )
+    List<CardFacets> findAllFacetsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find a page of card summaries, for list views.
+     * <p>
+     * The content column is never read, and rows are returned as plain values: no entity is hydrated,
+     * nor added to the persistence context or the second-level cache.
+     *
+     * @param pageable the pagination information.
+     * @return the page of card summaries.
+     */
+    @Query(value = SELECT_SUMMARIES, countQuery = "select count(card) from Card card")
+    Page<CardSummary> findAllSummaries(Pageable pageable);
+
+    /**
+     * Find a slice of card summaries, reading one extra row instead of counting all the cards.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of card summaries.
+     */
+    @Query(SELECT_SUMMARIES)
+    Slice<CardSummary> findSliceOfSummaries(Pageable pageable);
+
+    @Query("select card from Card card left join fetch card.author left join fetch card.category where card.id in :ids")
+    List<Card> findAllWithToOneRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset (seek) scrolling over cards with their to-one relationships fetched.
+     * <p>
+     * The position is turned into a {@code where (sort keys) > (last keys)} predicate instead of an offset,
+     * so the cost of a window does not depend on how far the client has already scrolled.
+     *
+     * @param position the position to scroll from, {@link ScrollPosition#keyset()} for the first window.
+     * @param sort the sort order, the id is appended by Spring Data as a tie-breaker.
+     * @param limit the maximum number of cards in the window.
+     * @return the window of cards.
+     */
+    @EntityGraph(attributePaths = { "author", "category" })
+    Window<Card> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Keyset scrolling over the cards of an author, seeking the {@code (author_id, id)} index, without initializing
+     * the {@link me.tisana.miniblog.domain.Author#getCards() cards} collection of the author.
+     *
+     * @param authorId the id of the author.
+     * @param position the position to scroll from, {@link ScrollPosition#keyset()} for the first window.
+     * @param sort the sort order, by id.
+     * @param limit the maximum number of cards in the window.
+     * @return the window of cards.
+     */
+    @EntityGraph(attributePaths = { "author", "category" })
+    Window<Card> findByAuthorId(Long authorId, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Keyset scrolling over the cards of a category, seeking the {@code (category_id, id)} index, without initializing
+     * the {@link me.tisana.miniblog.domain.Category#getCards() cards} collection of the category.
+     *
+     * @param categoryId the id of the category.
+     * @param position the position to scroll from, {@link ScrollPosition#keyset()} for the first window.
+     * @param sort the sort order, by id.
+     * @param limit the maximum number of cards in the window.
+     * @return the window of cards.
+     */
+    @EntityGraph(attributePaths = { "author", "category" })
+    Window<Card> findByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
     @Query("select card from Card card left join fetch card.author left join fetch card.category where card.id =:id")
     Optional<Card> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Find the versions the representation of a card depends on, without loading the card.
+     *
+     * @param id the id of the card.
+     * @return the versions of the card and of its to-one relationships.
+     */
+    @Query(
+        "select card.version as version, author.version as authorVersion, category.version as categoryVersion" +
+        " from Card card left join card.author author left join card.category category where card.id = :id"
+    )
+    Optional<CardVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Count the cards of an author, from the foreign key without joining the author.
+     *
+     * @param authorId the id of the author.
+     * @return the number of cards.
+     */
+    long countByAuthorId(Long authorId);
+
+    /**
+     * Count the cards of a category, from the foreign key without joining the category.
+     *
+     * @param categoryId the id of the category.
+     * @return the number of cards.
+     */
+    long countByCategoryId(Long categoryId);
+
+    /**
+     * Projection of the versions of a card and of its to-one relationships.
+     */
+    interface CardVersion {
+        Long getVersion();
+
+        Long getAuthorVersion();
+
+        Long getCategoryVersion();
+    }
+
+    /**
+     * Projection of the facet values of a card.
+     */
+    interface CardFacets {
+        Long getId();
+
+        Status getStatus();
+
+        Long getCategoryId();
+
+        Long getAuthorId();
+    }
+
+    /**
+     * Projection of the searchable text of a card.
+     */
+    interface CardText {
+        Long getId();
+
+        String getName();
+
+        String getContent();
+    }
 }
@@ -0,0 +1,20 @@
+package me.tisana.miniblog.repository;
+
+import me.tisana.miniblog.domain.enumeration.Status;
+
+/**
+ * Projection of a card for list views: the card without its content, and the displayed fields of its
+ * to-one relationships, read as plain columns.
+ */
+public record CardSummary(
+    Long id,
+    String name,
+    Status status,
+    Long version,
+    Long authorId,
+    String authorUsername,
+    Long authorVersion,
+    Long categoryId,
+    String categoryName,
+    Long categoryVersion
+) {}
@@ -1,7 +1,15 @@
 package me.tisana.miniblog.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import me.tisana.miniblog.domain.Category;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,77 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {}
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    /**
+     * Find the values the entity tag of a category is built from, without loading the category.
+     *
+     * @param id the id of the category.
+     * @return the version and the card count of the category.
+     */
+    @Query("select category.version as version, category.cardCount as cardCount from Category category where category.id = :id")
+    Optional<CategoryVersion> findVersionById(@Param("id") Long id);
+
+    @Query(
+        "select count(category) as total, coalesce(sum(category.id), 0) as idSum," +
+        " coalesce(sum(category.version + category.cardCount * category.id), 0) as versionSum from Category category"
+    )
+    VersionStamp findVersionStamp();
+
+    /**
+     * Find categories with their cards, initializing the cached cards collection.
+     *
+     * @param ids the ids of the categories.
+     * @return the categories.
+     */
+    @Query("select distinct category from Category category left join fetch category.cards where category.id in :ids")
+    List<Category> findAllWithCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find categories and lock them until the end of the transaction, in the order of their ids so that transactions
+     * locking several of them do not deadlock.
+     *
+     * @param ids the ids of the categories.
+     * @return the categories.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select category from Category category where category.id in :ids order by category.id")
+    List<Category> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all the categories in the order of their ids, through a forward-only cursor.
+     * <p>
+     * Rows are fetched from the database in chunks of the fetch size, loaded read-only and kept out of the
+     * second-level cache. The stream must be consumed and closed within a transaction.
+     *
+     * @return the stream of categories.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    @Query("select category from Category category order by category.id")
+    Stream<Category> streamAll();
+
+    /**
+     * Find the categories whose card count differs from their number of cards.
+     *
+     * @return the ids of the categories.
+     */
+    @Query(
+        "select category.id from Category category left join category.cards card" +
+        " group by category.id, category.cardCount having category.cardCount <> count(card)"
+    )
+    List<Long> findIdsWithStaleCardCount();
+
+    /**
+     * Projection of the values the entity tag of a category is built from.
+     */
+    interface CategoryVersion {
+        Long getVersion();
+
+        Long getCardCount();
+    }
+}
@@ -0,0 +1,18 @@
+package me.tisana.miniblog.repository;
+
+/**
+ * Projection summarizing the versions of all the rows of a table.
+ * <p>
+ * Changes almost always change one of the values: updates increment the sum of the versions, and deleted rows are
+ * replaced by rows with new ids. Counters which do not increment the version, such as card counts, are added to the
+ * sum of the versions weighted by the id, so that moving one unit between two rows changes it too. Sums can still
+ * collide, for instance when rows are replaced by rows of ids reserved earlier by another node, so the stamp only makes
+ * a weak entity tag.
+ */
+public interface VersionStamp {
+    Long getTotal();
+
+    Long getIdSum();
+
+    Long getVersionSum();
+}
@@ -1,15 +1,20 @@
 package me.tisana.miniblog.service;
 
-import java.util.LinkedList;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import me.tisana.miniblog.domain.Author;
 import me.tisana.miniblog.repository.AuthorRepository;
 import me.tisana.miniblog.service.dto.AuthorDTO;
 import me.tisana.miniblog.service.mapper.AuthorMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,10 +34,22 @@ public class AuthorService {
 
     private final PasswordEncoder passwordEncoder;
 
-    public AuthorService(AuthorRepository authorRepository, AuthorMapper authorMapper, PasswordEncoder passwordEncoder) {
+    private final CardResponseCache cardResponseCache;
+
+    private final EntityManager entityManager;
+
+    public AuthorService(
+        AuthorRepository authorRepository,
+        AuthorMapper authorMapper,
+        PasswordEncoder passwordEncoder,
+        CardResponseCache cardResponseCache,
+        EntityManager entityManager
+    ) {
         this.authorRepository = authorRepository;
         this.authorMapper = authorMapper;
         this.passwordEncoder = passwordEncoder;
+        this.cardResponseCache = cardResponseCache;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -58,8 +75,14 @@ public class AuthorService {
     public AuthorDTO update(AuthorDTO authorDTO) {
         LOG.debug("Request to update Author : {}", authorDTO);
         Author author = authorMapper.toEntity(authorDTO);
+        // The card count is maintained by CardCountService, the author is locked so that no card is counted meanwhile
+        for (Author existingAuthor : authorRepository.findAllForUpdateByIdIn(List.of(author.getId()))) {
+            author.setCardCount(existingAuthor.getCardCount());
+        }
         encodePassword(author);
-        author = authorRepository.save(author);
+        // Flushed so that the returned version is the incremented one
+        author = authorRepository.saveAndFlush(author);
+        cardResponseCache.evictAuthor(author.getId());
         return authorMapper.toDto(author);
     }
 
@@ -72,27 +95,67 @@ public class AuthorService {
     public Optional<AuthorDTO> partialUpdate(AuthorDTO authorDTO) {
         LOG.debug("Request to partially update Author : {}", authorDTO);
 
+        // Locked so that no card is counted between reading and writing the card count
         return authorRepository
-            .findById(authorDTO.getId())
+            .findAllForUpdateByIdIn(List.of(authorDTO.getId()))
+            .stream()
+            .findFirst()
             .map(existingAuthor -> {
+                if (authorDTO.getVersion() != null && !authorDTO.getVersion().equals(existingAuthor.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Author.class, existingAuthor.getId());
+                }
                 encodePassword(authorDTO);
                 authorMapper.partialUpdate(existingAuthor, authorDTO);
 
                 return existingAuthor;
             })
-            .map(authorRepository::save)
-            .map(authorMapper::toDto);
+            .map(authorRepository::saveAndFlush)
+            .map(author -> {
+                cardResponseCache.evictAuthor(author.getId());
+                return authorMapper.toDto(author);
+            });
     }
 
     /**
      * Get all the authors.
      *
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<AuthorDTO> findAll() {
+    public Page<AuthorDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Authors");
-        return authorRepository.findAll().stream().map(authorMapper::toDto).collect(Collectors.toCollection(LinkedList::new));
+        return authorRepository.findAll(pageable).map(authorMapper::toDto);
+    }
+
+    /**
+     * Get the version stamp of all the authors, and hand it to the reader within the same read-only transaction.
+     *
+     * @param reader the reader of the authors.
+     * @throws IOException if the reader cannot write the authors.
+     */
+    @Transactional(readOnly = true)
+    public void readAllStamped(StampedReader reader) throws IOException {
+        LOG.debug("Request to get the version stamp of all Authors");
+        reader.read(authorRepository.findVersionStamp());
+    }
+
+    /**
+     * Stream all the authors, one at a time in the order of their ids, within a single read-only transaction.
+     * <p>
+     * Each author is detached once handed to the consumer, so memory use does not grow with the number of authors.
+     *
+     * @param consumer the consumer of the authors.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<AuthorDTO> consumer) {
+        LOG.debug("Request to stream all Authors");
+        try (Stream<Author> authors = authorRepository.streamAll()) {
+            authors.forEach(author -> {
+                consumer.accept(authorMapper.toDto(author));
+                entityManager.detach(author);
+            });
+        }
     }
 
     /**
@@ -115,6 +178,7 @@ public class AuthorService {
     public void delete(Long id) {
         LOG.debug("Request to delete Author : {}", id);
         authorRepository.deleteById(id);
+        cardResponseCache.evictAuthor(id);
     }
 
     private void encodePassword(Author author) {
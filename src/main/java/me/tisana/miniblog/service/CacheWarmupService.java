@@ -0,0 +1,303 @@
+package me.tisana.miniblog.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import me.tisana.miniblog.config.ApplicationProperties;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.repository.AuthorRepository;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service preloading the second-level cache once the application is ready, so that a new node does not hit the
+ * database for every request while its caches are empty.
+ * <p>
+ * Categories, the most recent cards with their author and category, then the cards collections of these authors and
+ * categories are loaded in batches, each in its own transaction on the primary database, by a bounded number of
+ * threads. The collections are loaded whole, so only as many as hold a bounded number of cards are loaded, those of the
+ * owners of the most recent cards first. Until the warm-up is over, or has timed out, the {@code cacheWarmup} health
+ * indicator keeps the readiness probe out of service.
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    /**
+     * Collections are loaded with all their cards, so far fewer owners than cards are loaded per batch.
+     */
+    private static final int COLLECTION_BATCH_DIVISOR = 10;
+
+    public enum Phase {
+        PENDING,
+        CATEGORIES,
+        CARDS,
+        COLLECTIONS,
+        DONE,
+        FAILED,
+    }
+
+    /**
+     * Progress of the warm-up.
+     *
+     * @param phase the current phase.
+     * @param completedBatches the number of batches loaded.
+     * @param totalBatches the number of batches known so far, collection batches being known once the cards are loaded.
+     * @param elapsed the time since the warm-up started.
+     */
+    public record Progress(Phase phase, int completedBatches, int totalBatches, Duration elapsed) {}
+
+    /**
+     * Owner of a cards collection, as seen from the preloaded cards.
+     *
+     * @param latestCardId the id of its most recent card.
+     * @param cardCount the number of cards of its collection.
+     */
+    record CollectionOwner(long latestCardId, long cardCount) {}
+
+    private final CategoryRepository categoryRepository;
+
+    private final CardRepository cardRepository;
+
+    private final AuthorRepository authorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache.Warmup properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger completedBatches = new AtomicInteger();
+
+    private final AtomicInteger totalBatches = new AtomicInteger();
+
+    private final Instant createdAt = Instant.now();
+
+    private volatile Phase phase = Phase.PENDING;
+
+    private volatile Instant startedAt;
+
+    private volatile Instant finishedAt;
+
+    public CacheWarmupService(
+        CategoryRepository categoryRepository,
+        CardRepository cardRepository,
+        AuthorRepository authorRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.cardRepository = cardRepository;
+        this.authorRepository = authorRepository;
+        // Not read-only, so that the batches are read from the primary: the sessions reading from a replica do not put
+        // anything in the cache
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getCache().getWarmup();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("cache.warmup.batches.completed", completedBatches, AtomicInteger::get)
+            .description("Number of batches preloaded in the cache")
+            .register(meterRegistry);
+        Gauge.builder("cache.warmup.batches.total", totalBatches, AtomicInteger::get)
+            .description("Number of batches to preload in the cache, known so far")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Preload the cache.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            phase = Phase.DONE;
+            return;
+        }
+        LOG.debug("Request to warm up the cache");
+        startedAt = Instant.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(
+            properties.getParallelism(),
+            Thread.ofPlatform().name("cache-warmup-", 1).daemon().factory()
+        );
+        try {
+            if (properties.isCategories()) {
+                phase = Phase.CATEGORIES;
+                runAll(executor, List.of(() -> count("categories", categoryRepository.findAll())));
+            }
+
+            Map<Long, CollectionOwner> authors = new ConcurrentHashMap<>();
+            Map<Long, CollectionOwner> categories = new ConcurrentHashMap<>();
+            phase = Phase.CARDS;
+            List<Callable<Integer>> cardBatches = new ArrayList<>();
+            long recentCards = Math.min(properties.getRecentCards(), cardRepository.count());
+            for (int page = 0; (long) page * properties.getBatchSize() < recentCards; page++) {
+                PageRequest pageRequest = PageRequest.of(page, properties.getBatchSize(), Sort.by(Sort.Direction.DESC, "id"));
+                cardBatches.add(() -> {
+                    List<Card> cards = cardRepository.findSliceWithToOneRelationships(pageRequest).getContent();
+                    for (Card card : cards) {
+                        if (card.getAuthor() != null) {
+                            addOwner(authors, card.getAuthor().getId(), card.getId(), card.getAuthor().getCardCount());
+                        }
+                        if (card.getCategory() != null) {
+                            addOwner(categories, card.getCategory().getId(), card.getId(), card.getCategory().getCardCount());
+                        }
+                    }
+                    return count("cards", cards);
+                });
+            }
+            runAll(executor, cardBatches);
+
+            if (properties.isCollections()) {
+                phase = Phase.COLLECTIONS;
+                List<Callable<Integer>> collectionBatches = new ArrayList<>();
+                int maxCards = properties.getCollectionCards();
+                List<Long> authorIds = selectCollectionOwners(authors, maxCards);
+                List<Long> categoryIds = selectCollectionOwners(categories, maxCards);
+                collectionBatches.addAll(collectionBatches("author-cards", authorIds, authorRepository::findAllWithCardsByIdIn));
+                collectionBatches.addAll(collectionBatches("category-cards", categoryIds, categoryRepository::findAllWithCardsByIdIn));
+                runAll(executor, collectionBatches);
+            }
+
+            phase = Phase.DONE;
+            LOG.info("Cache warmed up with {} batches in {}", completedBatches.get(), getProgress().elapsed());
+        } catch (ExecutionException | RuntimeException e) {
+            phase = Phase.FAILED;
+            LOG.warn("Cache warm-up failed after {} batches", completedBatches.get(), e);
+        } catch (InterruptedException e) {
+            phase = Phase.FAILED;
+            Thread.currentThread().interrupt();
+        } finally {
+            finishedAt = Instant.now();
+            executor.shutdownNow();
+            sample.stop(Timer.builder("cache.warmup.duration").description("Duration of the cache warm-up").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Whether the node can be considered ready: the warm-up is over, disabled or timed out.
+     *
+     * @return {@code true} if the readiness probe should not wait for the warm-up.
+     */
+    public boolean isReady() {
+        return (
+            !properties.isEnabled() ||
+            phase == Phase.DONE ||
+            phase == Phase.FAILED ||
+            Duration.between(createdAt, Instant.now()).compareTo(properties.getTimeout()) > 0
+        );
+    }
+
+    public Progress getProgress() {
+        Instant start = startedAt;
+        Instant end = finishedAt;
+        return new Progress(
+            phase,
+            completedBatches.get(),
+            totalBatches.get(),
+            start == null ? Duration.ZERO : Duration.between(start, end == null ? Instant.now() : end)
+        );
+    }
+
+    /**
+     * Select the owners whose collections are preloaded, the owners of the most recent cards first, skipping those
+     * whose cards would exceed the limit.
+     *
+     * @param owners the owners of the preloaded cards, by id.
+     * @param maxCards the maximum number of cards in the selected collections.
+     * @return the ids of the selected owners.
+     */
+    static List<Long> selectCollectionOwners(Map<Long, CollectionOwner> owners, int maxCards) {
+        List<Long> selected = new ArrayList<>();
+        long cards = 0;
+        List<Map.Entry<Long, CollectionOwner>> byRecency = owners
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByValue(Comparator.comparingLong(CollectionOwner::latestCardId).reversed()))
+            .toList();
+        for (Map.Entry<Long, CollectionOwner> owner : byRecency) {
+            if (cards + owner.getValue().cardCount() <= maxCards) {
+                selected.add(owner.getKey());
+                cards += owner.getValue().cardCount();
+            }
+        }
+        return selected;
+    }
+
+    private static void addOwner(Map<Long, CollectionOwner> owners, Long ownerId, Long cardId, Long cardCount) {
+        owners.merge(ownerId, new CollectionOwner(cardId, cardCount == null ? 0 : cardCount), (previous, owner) ->
+            previous.latestCardId() >= owner.latestCardId() ? previous : owner
+        );
+    }
+
+    private <T> List<Callable<Integer>> collectionBatches(String set, List<Long> ids, Function<List<Long>, List<T>> loader) {
+        int batchSize = Math.max(1, properties.getBatchSize() / COLLECTION_BATCH_DIVISOR);
+        List<Callable<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            batches.add(() -> count(set, loader.apply(batch)));
+        }
+        return batches;
+    }
+
+    private void runAll(ExecutorService executor, List<Callable<Integer>> batches) throws InterruptedException, ExecutionException {
+        totalBatches.addAndGet(batches.size());
+        List<Callable<Integer>> transactional = batches
+            .stream()
+            .<Callable<Integer>>map(batch ->
+                () -> {
+                    try {
+                        return transactionTemplate.execute(status -> {
+                            try {
+                                return batch.call();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+                    } finally {
+                        completedBatches.incrementAndGet();
+                    }
+                }
+            )
+            .toList();
+        for (Future<Integer> future : executor.invokeAll(transactional)) {
+            future.get();
+        }
+    }
+
+    private int count(String set, Collection<?> loaded) {
+        Counter.builder("cache.warmup.entities")
+            .description("Number of entities preloaded in the cache")
+            .tag("set", set)
+            .register(meterRegistry)
+            .increment(loaded.size());
+        return loaded.size();
+    }
+}
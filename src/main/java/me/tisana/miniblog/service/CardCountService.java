@@ -0,0 +1,177 @@
+package me.tisana.miniblog.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.repository.AuthorRepository;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the card counts of the {@link Author}s and {@link Category}s.
+ * <p>
+ * Counts are changed in the transaction writing the cards, the authors and categories being locked so that concurrent
+ * writes wait for each other instead of losing increments. They are changed through the entities, so that the
+ * second-level cache and the other nodes see the new counts. A scheduled job recounts the cards of the authors and
+ * categories whose count has drifted, e.g. after cards were written by SQL. It runs on a single node at a time, the
+ * others skipping it while a PostgreSQL advisory lock is held.
+ */
+@Service
+@Transactional
+public class CardCountService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardCountService.class);
+
+    /**
+     * Key of the advisory lock held by the node reconciling the card counts.
+     */
+    static final long RECONCILE_LOCK_KEY = "card-counts-reconcile".hashCode();
+
+    private final AuthorRepository authorRepository;
+
+    private final CategoryRepository categoryRepository;
+
+    private final CardRepository cardRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final TransactionTemplate recountTransactionTemplate;
+
+    public CardCountService(
+        AuthorRepository authorRepository,
+        CategoryRepository categoryRepository,
+        CardRepository cardRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
+        this.cardRepository = cardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Within the transaction holding the lock, the reads and each recount run in their own transactions
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.recountTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.recountTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Apply changes of card counts, locking the authors and categories until the end of the transaction.
+     *
+     * @param changes the changes.
+     */
+    public void apply(Changes changes) {
+        if (!changes.authors.isEmpty()) {
+            for (Author author : authorRepository.findAllForUpdateByIdIn(changes.authors.keySet())) {
+                author.setCardCount(author.getCardCount() + changes.authors.get(author.getId()));
+            }
+        }
+        if (!changes.categories.isEmpty()) {
+            for (Category category : categoryRepository.findAllForUpdateByIdIn(changes.categories.keySet())) {
+                category.setCardCount(category.getCardCount() + changes.categories.get(category.getId()));
+            }
+        }
+    }
+
+    /**
+     * Recount the cards of the authors and categories whose card count has drifted, each in its own transaction.
+     * <p>
+     * The recount is skipped while another node holds the advisory lock, for the duration of its own recount.
+     *
+     * @return the number of counts fixed.
+     */
+    @Scheduled(cron = "${application.card-counts.reconcile-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcile() {
+        LOG.debug("Request to reconcile the card counts");
+        Integer fixed = transactionTemplate.execute(status -> {
+            if (!cardRepository.tryAdvisoryTransactionLock(RECONCILE_LOCK_KEY)) {
+                LOG.debug("Card counts are being reconciled by another node");
+                return 0;
+            }
+            return recount();
+        });
+        return fixed != null ? fixed : 0;
+    }
+
+    private int recount() {
+        List<Long> authorIds = readOnlyTransactionTemplate.execute(status -> authorRepository.findIdsWithStaleCardCount());
+        List<Long> categoryIds = readOnlyTransactionTemplate.execute(status -> categoryRepository.findIdsWithStaleCardCount());
+        // The stale counts may come from a lagging replica, so they are recounted once the owner is locked on the primary
+        for (Long id : authorIds) {
+            recountTransactionTemplate.executeWithoutResult(status ->
+                authorRepository
+                    .findAllForUpdateByIdIn(List.of(id))
+                    .forEach(author -> author.setCardCount(cardRepository.countByAuthorId(id)))
+            );
+        }
+        for (Long id : categoryIds) {
+            recountTransactionTemplate.executeWithoutResult(status ->
+                categoryRepository
+                    .findAllForUpdateByIdIn(List.of(id))
+                    .forEach(category -> category.setCardCount(cardRepository.countByCategoryId(id)))
+            );
+        }
+        int fixed = authorIds.size() + categoryIds.size();
+        if (fixed > 0) {
+            LOG.warn("Card counts reconciled for {} authors and {} categories", authorIds.size(), categoryIds.size());
+        }
+        return fixed;
+    }
+
+    /**
+     * Changes of card counts within a transaction, by author and category id. Cards moving back and forth cancel out,
+     * so that their owners are not locked.
+     */
+    public static final class Changes {
+
+        private final Map<Long, Long> authors = new TreeMap<>();
+
+        private final Map<Long, Long> categories = new TreeMap<>();
+
+        /**
+         * Count a card added to an author and a category.
+         *
+         * @param authorId the id of the author of the card, may be {@code null}.
+         * @param categoryId the id of the category of the card, may be {@code null}.
+         * @return these changes.
+         */
+        public Changes add(Long authorId, Long categoryId) {
+            change(authors, authorId, 1);
+            change(categories, categoryId, 1);
+            return this;
+        }
+
+        /**
+         * Count a card removed from an author and a category.
+         *
+         * @param authorId the id of the author of the card, may be {@code null}.
+         * @param categoryId the id of the category of the card, may be {@code null}.
+         * @return these changes.
+         */
+        public Changes remove(Long authorId, Long categoryId) {
+            change(authors, authorId, -1);
+            change(categories, categoryId, -1);
+            return this;
+        }
+
+        private static void change(Map<Long, Long> deltas, Long id, long delta) {
+            if (id != null) {
+                deltas.merge(id, delta, (previous, added) -> previous + added == 0 ? null : previous + added);
+            }
+        }
+    }
+}
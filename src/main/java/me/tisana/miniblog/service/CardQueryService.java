@@ -0,0 +1,147 @@
+package me.tisana.miniblog.service;
+
+import jakarta.persistence.criteria.JoinType;
+import me.tisana.miniblog.domain.*; // for static metamodels
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.service.criteria.CardCriteria;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.mapper.CardMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Card} entities in the database.
+ * The main input is a {@link CardCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Page} of {@link CardDTO} which fulfills the criteria.
+ * <p>
+ * The to-one relationships are fetched with the cards. Author and category filters compare the foreign key columns
+ * of the card, without joining the related tables, so that they can be served by the {@code (author_id, id)} and
+ * {@code (category_id, id)} indexes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CardQueryService extends QueryService<Card> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardQueryService.class);
+
+    private final CardRepository cardRepository;
+
+    private final CardMapper cardMapper;
+
+    public CardQueryService(CardRepository cardRepository, CardMapper cardMapper) {
+        this.cardRepository = cardRepository;
+        this.cardMapper = cardMapper;
+    }
+
+    /**
+     * Return a {@link Page} of {@link CardDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    public Page<CardDTO> findByCriteria(CardCriteria criteria, Pageable page) {
+        LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Card> specification = createSpecification(criteria);
+        return cardRepository.findBy(specification.and(fetchToOneRelationships()), query -> query.page(page)).map(cardMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link CardDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    public Slice<CardDTO> findSliceByCriteria(CardCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Card> specification = createSpecification(criteria);
+        return cardRepository.findBy(specification.and(fetchToOneRelationships()), query -> query.slice(page)).map(cardMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Window} of {@link CardDTO} which matches the criteria from the database, following the given keyset position.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param position the keyset position to scroll from.
+     * @param sort the sort order of the window.
+     * @param size the maximum number of entities in the window.
+     * @return the matching entities.
+     */
+    public Window<CardDTO> findAfterByCriteria(CardCriteria criteria, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("find window by criteria : {}, after: {}", criteria, position);
+        final Specification<Card> specification = createSpecification(criteria);
+        return cardRepository
+            .findBy(specification.and(fetchToOneRelationships()), query -> query.sortBy(sort).limit(size).scroll(position))
+            .map(cardMapper::toDto);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    public long countByCriteria(CardCriteria criteria) {
+        LOG.debug("count by criteria : {}", criteria);
+        final Specification<Card> specification = createSpecification(criteria);
+        return cardRepository.count(specification);
+    }
+
+    /**
+     * Fetch the to-one relationships with the cards, except when counting them.
+     */
+    private static Specification<Card> fetchToOneRelationships() {
+        return (root, query, builder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch(Card_.author, JoinType.LEFT);
+                root.fetch(Card_.category, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Function to convert {@link CardCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Card> createSpecification(CardCriteria criteria) {
+        Specification<Card> specification = Specification.unrestricted();
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Card_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Card_.name));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), Card_.status));
+            }
+            // Implicit paths to the ids are resolved to the foreign key columns, unlike joins
+            if (criteria.getAuthorId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getAuthorId(), root -> root.get(Card_.author).get(Author_.id))
+                );
+            }
+            if (criteria.getCategoryId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getCategoryId(), root -> root.get(Card_.category).get(Category_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
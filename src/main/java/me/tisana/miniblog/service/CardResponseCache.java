@@ -0,0 +1,333 @@
+package me.tisana.miniblog.service;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+import me.tisana.miniblog.config.ApplicationProperties;
+import me.tisana.miniblog.service.dto.CardDTO;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cache of the serialized {@link CardDTO}s, so that a card read again is written to the response as is, without being
+ * assembled from the second-level cache, mapped and serialized.
+ * <p>
+ * Each card keeps its UTF-8 JSON, a gzip copy when large enough, and the versions of the card, author and category it
+ * was built from. The least recently read cards are dropped once the responses exceed
+ * {@code application.cache.card-responses.max-size}, and every card is read again once older than
+ * {@code application.cache.card-responses.time-to-live}.
+ * <p>
+ * The JSON embeds the author and category of the card, so the cards of each author and category are indexed to be
+ * evicted along with it. Evictions are applied at once and again when the transaction commits, and a load overlapping
+ * an eviction is not kept, so that a response read before a commit does not outlive it. The cards must be loaded from
+ * the primary database, as a load starting after an eviction could otherwise read a replica lagging behind it. Writes
+ * bypassing the services must evict the cards themselves.
+ */
+@Service
+public class CardResponseCache {
+
+    /**
+     * Estimated memory held by an entry besides its bytes.
+     */
+    private static final int ENTRY_OVERHEAD = 200;
+
+    private final JsonMapper jsonMapper;
+
+    private final long maxSize;
+
+    private final long gzipMinSize;
+
+    private final long timeToLiveNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongObjectHashMap<LongHashSet> cardsByAuthor = new LongObjectHashMap<>();
+
+    private final LongObjectHashMap<LongHashSet> cardsByCategory = new LongObjectHashMap<>();
+
+    private long size;
+
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public CardResponseCache(JsonMapper jsonMapper, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        ApplicationProperties.Cache.CardResponses properties = applicationProperties.getCache().getCardResponses();
+        this.maxSize = properties.getMaxSize().toBytes();
+        this.gzipMinSize = properties.getGzipMinSize().toBytes();
+        this.timeToLiveNanos = properties.getTimeToLive().toNanos();
+        FunctionCounter.builder("card.response.cache.gets", hits, LongAdder::sum)
+            .description("Number of card responses looked up")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        FunctionCounter.builder("card.response.cache.gets", misses, LongAdder::sum)
+            .description("Number of card responses looked up")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("card.response.cache.size", this, CardResponseCache::size)
+            .description("Estimated memory held by the card responses")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the response of a card.
+     *
+     * @param id the id of the card.
+     * @return the response, or empty if the card is not cached or has expired.
+     */
+    public Optional<CardResponse> get(Long id) {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(id);
+            if (entry != null && System.nanoTime() - entry.expiresAt() >= 0) {
+                remove(entry);
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        (entry != null ? hits : misses).increment();
+        return Optional.ofNullable(entry).map(Entry::response);
+    }
+
+    /**
+     * Load a card and build its response, which is kept unless the cache was evicted meanwhile.
+     *
+     * @param id the id of the card.
+     * @param loader the load of the card, from the primary database.
+     * @return the response, or empty if the card does not exist.
+     */
+    public Optional<CardResponse> load(Long id, Function<Long, Optional<CardDTO>> loader) {
+        long loadGeneration = generation();
+        return loader
+            .apply(id)
+            .map(cardDTO -> {
+                CardResponse response = toResponse(cardDTO);
+                long expiresAt = System.nanoTime() + timeToLiveNanos;
+                put(new Entry(id, authorIdOf(cardDTO), categoryIdOf(cardDTO), response, expiresAt), loadGeneration);
+                return response;
+            });
+    }
+
+    /**
+     * Evict a card, now and once the current transaction, if any, commits.
+     *
+     * @param id the id of the card.
+     */
+    public void evict(Long id) {
+        evictNowAndAfterCommit(() -> remove(entries.get(id)));
+    }
+
+    /**
+     * Evict the cards of an author, now and once the current transaction, if any, commits.
+     *
+     * @param authorId the id of the author.
+     */
+    public void evictAuthor(Long authorId) {
+        evictNowAndAfterCommit(() -> removeAll(cardsByAuthor.get(authorId)));
+    }
+
+    /**
+     * Evict the cards of a category, now and once the current transaction, if any, commits.
+     *
+     * @param categoryId the id of the category.
+     */
+    public void evictCategory(Long categoryId) {
+        evictNowAndAfterCommit(() -> removeAll(cardsByCategory.get(categoryId)));
+    }
+
+    /**
+     * Evict all the cards.
+     */
+    public void clear() {
+        evictNowAndAfterCommit(() -> {
+            entries.clear();
+            cardsByAuthor.clear();
+            cardsByCategory.clear();
+            size = 0;
+        });
+    }
+
+    /**
+     * Get the estimated memory held by the responses.
+     *
+     * @return the size, in bytes.
+     */
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CardResponse toResponse(CardDTO cardDTO) {
+        byte[] json = jsonMapper.writeValueAsBytes(cardDTO);
+        byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+        return new CardResponse(
+            json,
+            gzip != null && gzip.length < json.length ? gzip : null,
+            cardDTO.getVersion(),
+            cardDTO.getAuthor() != null ? cardDTO.getAuthor().getVersion() : null,
+            cardDTO.getCategory() != null ? cardDTO.getCategory().getVersion() : null
+        );
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void put(Entry entry, long loadGeneration) {
+        if (entry.size() > maxSize) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (generation != loadGeneration) {
+                return;
+            }
+            remove(entries.get(entry.id()));
+            entries.put(entry.id(), entry);
+            link(cardsByAuthor, entry.authorId(), entry.id());
+            link(cardsByCategory, entry.categoryId(), entry.id());
+            size += entry.size();
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (size > maxSize) {
+                Entry evicted = eldest.next();
+                eldest.remove();
+                unlink(evicted);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        evictNow(eviction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(eviction);
+                    }
+                }
+            );
+        }
+    }
+
+    private void evictNow(Runnable eviction) {
+        lock.lock();
+        try {
+            generation++;
+            eviction.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeAll(LongHashSet ids) {
+        if (ids != null) {
+            // Copied, as removing the cards unlinks them from the set
+            for (LongCursor id : ids.clone()) {
+                remove(entries.get(id.value));
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entry != null) {
+            entries.remove(entry.id());
+            unlink(entry);
+        }
+    }
+
+    private void unlink(Entry entry) {
+        unlink(cardsByAuthor, entry.authorId(), entry.id());
+        unlink(cardsByCategory, entry.categoryId(), entry.id());
+        size -= entry.size();
+    }
+
+    private static void link(LongObjectHashMap<LongHashSet> cardsByOwner, Long ownerId, long id) {
+        if (ownerId != null) {
+            LongHashSet cards = cardsByOwner.get(ownerId);
+            if (cards == null) {
+                cards = new LongHashSet();
+                cardsByOwner.put(ownerId, cards);
+            }
+            cards.add(id);
+        }
+    }
+
+    private static void unlink(LongObjectHashMap<LongHashSet> cardsByOwner, Long ownerId, long id) {
+        if (ownerId != null) {
+            LongHashSet cards = cardsByOwner.get(ownerId);
+            if (cards != null && cards.remove(id) && cards.isEmpty()) {
+                cardsByOwner.remove(ownerId);
+            }
+        }
+    }
+
+    private static Long authorIdOf(CardDTO cardDTO) {
+        return cardDTO.getAuthor() != null ? cardDTO.getAuthor().getId() : null;
+    }
+
+    private static Long categoryIdOf(CardDTO cardDTO) {
+        return cardDTO.getCategory() != null ? cardDTO.getCategory().getId() : null;
+    }
+
+    /**
+     * Serialized card.
+     *
+     * @param json the UTF-8 JSON of the card.
+     * @param gzip the gzip copy of the JSON, {@code null} if the JSON is too small to be worth compressing.
+     * @param version the version of the card.
+     * @param authorVersion the version of the author of the card, {@code null} if there is none.
+     * @param categoryVersion the version of the category of the card, {@code null} if there is none.
+     */
+    public record CardResponse(byte[] json, byte[] gzip, Long version, Long authorVersion, Long categoryVersion) {}
+
+    private record Entry(long id, Long authorId, Long categoryId, CardResponse response, long expiresAt) {
+        long size() {
+            return ENTRY_OVERHEAD + response.json().length + (response.gzip() != null ? response.gzip().length : 0);
+        }
+    }
+}
@@ -1,14 +1,47 @@
 package me.tisana.miniblog.service;
 
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import me.tisana.miniblog.domain.Author;
 import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.repository.AuthorRepository;
 import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CategoryRepository;
+import me.tisana.miniblog.service.CardCountService.Changes;
+import me.tisana.miniblog.service.dto.BatchItemResultDTO;
 import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CardSummaryDTO;
+import me.tisana.miniblog.service.facet.CardFacetService;
 import me.tisana.miniblog.service.mapper.CardMapper;
+import me.tisana.miniblog.service.search.CardSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +56,49 @@ public class CardService {
 
     private final CardRepository cardRepository;
 
+    private final AuthorRepository authorRepository;
+
+    private final CategoryRepository categoryRepository;
+
     private final CardMapper cardMapper;
 
-    public CardService(CardRepository cardRepository, CardMapper cardMapper) {
+    private final EntityManager entityManager;
+
+    private final CardSearchService cardSearchService;
+
+    private final CardFacetService cardFacetService;
+
+    private final CardCountService cardCountService;
+
+    private final CardResponseCache cardResponseCache;
+
+    private final Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}")
+    private int batchSize;
+
+    public CardService(
+        CardRepository cardRepository,
+        AuthorRepository authorRepository,
+        CategoryRepository categoryRepository,
+        CardMapper cardMapper,
+        EntityManager entityManager,
+        CardSearchService cardSearchService,
+        CardFacetService cardFacetService,
+        CardCountService cardCountService,
+        CardResponseCache cardResponseCache,
+        Validator validator
+    ) {
         this.cardRepository = cardRepository;
+        this.authorRepository = authorRepository;
+        this.categoryRepository = categoryRepository;
         this.cardMapper = cardMapper;
+        this.entityManager = entityManager;
+        this.cardSearchService = cardSearchService;
+        this.cardFacetService = cardFacetService;
+        this.cardCountService = cardCountService;
+        this.cardResponseCache = cardResponseCache;
+        this.validator = validator;
     }
 
     /**
@@ -38,42 +109,197 @@ public class CardService {
      */
     public CardDTO save(CardDTO cardDTO) {
         LOG.debug("Request to save Card : {}", cardDTO);
-        Card card = cardMapper.toEntity(cardDTO);
+        Card card = withManagedReferences(cardMapper.toEntity(cardDTO));
+        cardCountService.apply(new Changes().add(authorIdOf(card), categoryIdOf(card)));
         card = cardRepository.save(card);
-        return cardMapper.toDto(card);
+        CardDTO result = cardMapper.toDto(card);
+        cardSearchService.index(result);
+        cardFacetService.index(result);
+        return result;
     }
 
     /**
      * Update a card.
+     * <p>
+     * The current card is read first, through the second-level cache, as the card counts of its previous author and
+     * category, and the precondition, need it. The {@code update} writes only the changed columns and is guarded by the
+     * version, so that a card changed meanwhile fails with an {@link ObjectOptimisticLockingFailureException} rather
+     * than being overwritten.
      *
-     * @param cardDTO the entity to save.
-     * @return the persisted entity.
+     * @param cardDTO the entity to save, its version defaulting to the current one.
+     * @param precondition called with the current card before it is changed, throwing to cancel the update.
+     * @return the persisted entity, or empty if the card does not exist.
      */
-    public CardDTO update(CardDTO cardDTO) {
+    public Optional<CardDTO> update(CardDTO cardDTO, Consumer<CardDTO> precondition) {
         LOG.debug("Request to update Card : {}", cardDTO);
-        Card card = cardMapper.toEntity(cardDTO);
-        card = cardRepository.save(card);
-        return cardMapper.toDto(card);
+        return cardRepository
+            .findById(cardDTO.getId())
+            .map(existingCard -> {
+                precondition.accept(cardMapper.toDto(existingCard));
+                if (cardDTO.getVersion() == null) {
+                    cardDTO.setVersion(existingCard.getVersion());
+                }
+                Card card = withManagedReferences(cardMapper.toEntity(cardDTO));
+                cardCountService.apply(
+                    new Changes().remove(authorIdOf(existingCard), categoryIdOf(existingCard)).add(authorIdOf(card), categoryIdOf(card))
+                );
+                // Merged onto the card read above, then flushed so that the returned version is the incremented one
+                return cardRepository.saveAndFlush(card);
+            })
+            .map(cardMapper::toDto)
+            .map(result -> {
+                cardSearchService.index(result);
+                cardFacetService.index(result);
+                cardResponseCache.evict(result.getId());
+                return result;
+            });
+    }
+
+    /**
+     * Save a batch of new cards in a single transaction.
+     * <p>
+     * Valid cards are persisted in chunks of the JDBC batch size, the persistence context being flushed and
+     * cleared after each chunk so that inserts go out as JDBC batches and memory use stays bounded. Cards referencing
+     * an author or a category which does not exist are reported as such, see {@link #withExistingReferences}.
+     *
+     * @param cardDTOs the entities to save.
+     * @return the result of each entity, in request order.
+     */
+    public List<BatchItemResultDTO> saveAll(List<CardDTO> cardDTOs) {
+        LOG.debug("Request to save {} Cards", cardDTOs.size());
+        BatchItemResultDTO[] results = new BatchItemResultDTO[cardDTOs.size()];
+        List<Integer> valid = new ArrayList<>(cardDTOs.size());
+        for (int index = 0; index < cardDTOs.size(); index++) {
+            CardDTO cardDTO = cardDTOs.get(index);
+            List<String> errors = validate(cardDTO);
+            if (cardDTO.getId() != null) {
+                errors.add("id: a new card cannot already have an ID");
+            }
+            if (errors.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.BAD_REQUEST.value(), errors);
+            }
+        }
+        valid = withExistingReferences(cardDTOs, valid, results);
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchSize, valid.size()));
+            List<Card> cards = chunk.stream().map(index -> withManagedReferences(cardMapper.toEntity(cardDTOs.get(index)))).toList();
+            Changes changes = new Changes();
+            cards.forEach(card -> changes.add(authorIdOf(card), categoryIdOf(card)));
+            cardCountService.apply(changes);
+            cards = cardRepository.saveAll(cards);
+            entityManager.flush();
+            for (int i = 0; i < chunk.size(); i++) {
+                CardDTO result = cardMapper.toDto(cards.get(i));
+                cardSearchService.index(result);
+                cardFacetService.index(result);
+                results[chunk.get(i)] = new BatchItemResultDTO(chunk.get(i), result.getId(), HttpStatus.CREATED.value());
+            }
+            entityManager.clear();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Update a batch of cards in a single transaction.
+     * <p>
+     * Each chunk of cards is loaded with a single query, which also tells which cards do not exist,
+     * then updated and flushed as JDBC batches. Cards referencing an author or a category which does not exist are
+     * reported as such, see {@link #withExistingReferences}.
+     *
+     * @param cardDTOs the entities to update.
+     * @return the result of each entity, in request order.
+     */
+    public List<BatchItemResultDTO> updateAll(List<CardDTO> cardDTOs) {
+        LOG.debug("Request to update {} Cards", cardDTOs.size());
+        BatchItemResultDTO[] results = new BatchItemResultDTO[cardDTOs.size()];
+        List<Integer> valid = new ArrayList<>(cardDTOs.size());
+        for (int index = 0; index < cardDTOs.size(); index++) {
+            CardDTO cardDTO = cardDTOs.get(index);
+            List<String> errors = validate(cardDTO);
+            if (cardDTO.getId() == null) {
+                errors.add("id: must not be null");
+            }
+            if (errors.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.BAD_REQUEST.value(), errors);
+            }
+        }
+        valid = withExistingReferences(cardDTOs, valid, results);
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + batchSize, valid.size()));
+            Map<Long, Card> existingCards = cardRepository
+                .findAllById(chunk.stream().map(index -> cardDTOs.get(index).getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+            List<CardDTO> updated = new ArrayList<>(chunk.size());
+            Changes changes = new Changes();
+            for (int index : chunk) {
+                CardDTO cardDTO = cardDTOs.get(index);
+                Card existingCard = existingCards.get(cardDTO.getId());
+                if (existingCard == null) {
+                    List<String> errors = List.of("Entity not found");
+                    results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.NOT_FOUND.value(), errors);
+                } else if (cardDTO.getVersion() != null && !cardDTO.getVersion().equals(existingCard.getVersion())) {
+                    List<String> errors = List.of("version: the card has been modified");
+                    results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.CONFLICT.value(), errors);
+                } else {
+                    // The card is already managed, so merging copies the new state without selecting it again
+                    cardDTO.setVersion(existingCard.getVersion());
+                    changes.remove(authorIdOf(existingCard), categoryIdOf(existingCard));
+                    Card card = withManagedReferences(cardMapper.toEntity(cardDTO));
+                    changes.add(authorIdOf(card), categoryIdOf(card));
+                    entityManager.merge(card);
+                    updated.add(cardDTO);
+                    results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.OK.value());
+                }
+            }
+            cardCountService.apply(changes);
+            entityManager.flush();
+            entityManager.clear();
+            updated.forEach(cardDTO -> {
+                cardSearchService.index(cardDTO);
+                cardFacetService.index(cardDTO);
+                cardResponseCache.evict(cardDTO.getId());
+            });
+        }
+        return Arrays.asList(results);
     }
 
     /**
-     * Partially update a card.
+     * Partially update a card, writing only the columns of the given fields, see {@link #update(CardDTO, Consumer)}.
      *
      * @param cardDTO the entity to update partially.
-     * @return the persisted entity.
+     * @param precondition called with the current card before it is changed, throwing to cancel the update.
+     * @return the persisted entity, or empty if the card does not exist.
      */
-    public Optional<CardDTO> partialUpdate(CardDTO cardDTO) {
+    public Optional<CardDTO> partialUpdate(CardDTO cardDTO, Consumer<CardDTO> precondition) {
         LOG.debug("Request to partially update Card : {}", cardDTO);
 
         return cardRepository
             .findById(cardDTO.getId())
             .map(existingCard -> {
+                precondition.accept(cardMapper.toDto(existingCard));
+                if (cardDTO.getVersion() != null && !cardDTO.getVersion().equals(existingCard.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Card.class, existingCard.getId());
+                }
+                Changes changes = new Changes().remove(authorIdOf(existingCard), categoryIdOf(existingCard));
                 cardMapper.partialUpdate(existingCard, cardDTO);
+                withManagedReferences(existingCard);
+                cardCountService.apply(changes.add(authorIdOf(existingCard), categoryIdOf(existingCard)));
 
                 return existingCard;
             })
-            .map(cardRepository::save)
-            .map(cardMapper::toDto);
+            .map(cardRepository::saveAndFlush)
+            .map(cardMapper::toDto)
+            .map(result -> {
+                cardSearchService.index(result);
+                cardFacetService.index(result);
+                cardResponseCache.evict(result.getId());
+                return result;
+            });
     }
 
     /**
@@ -88,15 +314,171 @@ public class CardService {
         return cardRepository.findAll(pageable).map(cardMapper::toDto);
     }
 
+    /**
+     * Get a page of card summaries, without their content.
+     *
+     * @param pageable the pagination information.
+     * @return the page of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<CardSummaryDTO> findAllSummaries(Pageable pageable) {
+        LOG.debug("Request to get a page of Card summaries");
+        return cardRepository.findAllSummaries(pageable).map(cardMapper::toSummaryDto);
+    }
+
+    /**
+     * Get a slice of the cards, without counting all the cards.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CardDTO> findSlice(Pageable pageable) {
+        LOG.debug("Request to get a slice of Cards");
+        return cardRepository.findSliceWithToOneRelationships(pageable).map(cardMapper::toDto);
+    }
+
+    /**
+     * Get a slice of card summaries, without counting all the cards.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of summaries.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CardSummaryDTO> findSliceOfSummaries(Pageable pageable) {
+        LOG.debug("Request to get a slice of Card summaries");
+        return cardRepository.findSliceOfSummaries(pageable).map(cardMapper::toSummaryDto);
+    }
+
+    /**
+     * Estimate the number of cards from the database statistics, falling back to an exact count when the
+     * statistics are not available yet.
+     *
+     * @return the estimated number of cards.
+     */
+    @Transactional(readOnly = true)
+    public long estimateCount() {
+        long estimate = cardRepository.estimateCount();
+        return estimate >= 0 ? estimate : cardRepository.count();
+    }
+
     /**
      * Get all the cards with eager load of many-to-many relationships.
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<CardDTO> findAllWithEagerRelationships(Pageable pageable) {
         return cardRepository.findAllWithEagerRelationships(pageable).map(cardMapper::toDto);
     }
 
+    /**
+     * Get a window of cards following the given keyset position.
+     *
+     * @param position the keyset position to scroll from.
+     * @param sort the sort order of the window.
+     * @param size the maximum number of cards in the window.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<CardDTO> findAllAfter(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Cards after : {}", position);
+        return cardRepository.findAllBy(position, sort, Limit.of(size)).map(cardMapper::toDto);
+    }
+
+    /**
+     * Get a window of the cards of an author following the given keyset position.
+     *
+     * @param authorId the id of the author.
+     * @param position the keyset position to scroll from.
+     * @param sort the sort order of the window, by id.
+     * @param size the maximum number of cards in the window.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<CardDTO> findAllByAuthorAfter(Long authorId, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Cards of Author {} after : {}", authorId, position);
+        return cardRepository.findByAuthorId(authorId, position, sort, Limit.of(size)).map(cardMapper::toDto);
+    }
+
+    /**
+     * Get a window of the cards of a category following the given keyset position.
+     *
+     * @param categoryId the id of the category.
+     * @param position the keyset position to scroll from.
+     * @param sort the sort order of the window, by id.
+     * @param size the maximum number of cards in the window.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<CardDTO> findAllByCategoryAfter(Long categoryId, ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Cards of Category {} after : {}", categoryId, position);
+        return cardRepository.findByCategoryId(categoryId, position, sort, Limit.of(size)).map(cardMapper::toDto);
+    }
+
+    /**
+     * Get the cards of a list of ids, in the order of the ids.
+     * <p>
+     * Cards found in the second-level cache along with their author and category are read from it, the others with a
+     * single query fetching their author and category. Repeated ids are answered once, and ids without card are left
+     * out.
+     *
+     * @param ids the ids of the cards.
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public List<CardDTO> findAllByIds(long[] ids) {
+        LOG.debug("Request to get {} Cards by id", ids.length);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        LongObjectHashMap<Card> cards = new LongObjectHashMap<>(ids.length);
+        LongHashSet misses = new LongHashSet();
+        for (long id : ids) {
+            if (cards.containsKey(id) || misses.contains(id)) {
+                continue;
+            }
+            Card card = cache.contains(Card.class, id) ? entityManager.find(Card.class, id) : null;
+            if (card != null && isCached(cache, Author.class, authorIdOf(card)) && isCached(cache, Category.class, categoryIdOf(card))) {
+                cards.put(id, card);
+            } else {
+                misses.add(id);
+            }
+        }
+        LOG.debug("{} Cards read from the cache, {} ids missed", cards.size(), misses.size());
+        if (!misses.isEmpty()) {
+            // Only the missed ids are boxed, for the padded in clause
+            List<Long> missedIds = Arrays.stream(misses.toArray()).boxed().toList();
+            for (Card card : cardRepository.findAllWithToOneRelationshipsByIdIn(missedIds)) {
+                cards.put(card.getId(), card);
+            }
+        }
+        List<CardDTO> result = new ArrayList<>(cards.size());
+        for (long id : ids) {
+            Card card = cards.remove(id);
+            if (card != null) {
+                result.add(cardMapper.toDto(card));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Export all the cards, one at a time, within a single read-only transaction.
+     * <p>
+     * Each card is detached once handed to the consumer, so memory use does not grow with the number of cards.
+     *
+     * @param consumer the consumer of the exported cards.
+     */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<CardDTO> consumer) {
+        LOG.debug("Request to export all Cards");
+        try (Stream<Card> cards = cardRepository.streamAllWithToOneRelationships()) {
+            cards.forEach(card -> {
+                consumer.accept(cardMapper.toDto(card));
+                entityManager.detach(card);
+            });
+        }
+    }
+
     /**
      * Get one card by id.
      *
@@ -109,6 +491,20 @@ public class CardService {
         return cardRepository.findOneWithEagerRelationships(id).map(cardMapper::toDto);
     }
 
+    /**
+     * Get one card by id, from the primary database.
+     * <p>
+     * Unlike {@link #findOne(Long)}, the transaction is not read-only, so that the card is not read from a replica
+     * lagging behind the changes already committed: the result can be cached until the card is changed again.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    public Optional<CardDTO> findOneFromPrimary(Long id) {
+        LOG.debug("Request to get Card from the primary : {}", id);
+        return cardRepository.findOneWithEagerRelationships(id).map(cardMapper::toDto);
+    }
+
     /**
      * Delete the card by id.
      *
@@ -116,6 +512,100 @@ public class CardService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Card : {}", id);
-        cardRepository.deleteById(id);
+        cardRepository
+            .findById(id)
+            .ifPresent(card -> {
+                cardCountService.apply(new Changes().remove(authorIdOf(card), categoryIdOf(card)));
+                cardRepository.delete(card);
+            });
+        cardSearchService.remove(id);
+        cardFacetService.remove(id);
+        cardResponseCache.evict(id);
+    }
+
+    /**
+     * Replace the relationships mapped from DTOs, which only identify the related entities and may lack their
+     * version, with references managed by the persistence context.
+     */
+    private Card withManagedReferences(Card card) {
+        if (card.getAuthor() != null && !entityManager.contains(card.getAuthor())) {
+            card.setAuthor(entityManager.getReference(Author.class, card.getAuthor().getId()));
+        }
+        if (card.getCategory() != null && !entityManager.contains(card.getCategory())) {
+            card.setCategory(entityManager.getReference(Category.class, card.getCategory().getId()));
+        }
+        return card;
+    }
+
+    /**
+     * Report the cards of a batch referencing an author or a category which does not exist, with one query per
+     * relationship, rather than letting their foreign key fail the whole batch once flushed.
+     *
+     * @return the indexes of the cards whose references exist.
+     */
+    private List<Integer> withExistingReferences(List<CardDTO> cardDTOs, List<Integer> indexes, BatchItemResultDTO[] results) {
+        Set<Long> authorIds = indexes
+            .stream()
+            .map(index -> authorIdOf(cardDTOs.get(index)))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> categoryIds = indexes
+            .stream()
+            .map(index -> categoryIdOf(cardDTOs.get(index)))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> existingAuthorIds = authorIds.isEmpty()
+            ? Set.of()
+            : authorRepository.findAllById(authorIds).stream().map(Author::getId).collect(Collectors.toSet());
+        Set<Long> existingCategoryIds = categoryIds.isEmpty()
+            ? Set.of()
+            : categoryRepository.findAllById(categoryIds).stream().map(Category::getId).collect(Collectors.toSet());
+        List<Integer> valid = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            CardDTO cardDTO = cardDTOs.get(index);
+            List<String> errors = new ArrayList<>();
+            Long authorId = authorIdOf(cardDTO);
+            if (authorId != null && !existingAuthorIds.contains(authorId)) {
+                errors.add("author: the author " + authorId + " does not exist");
+            }
+            Long categoryId = categoryIdOf(cardDTO);
+            if (categoryId != null && !existingCategoryIds.contains(categoryId)) {
+                errors.add("category: the category " + categoryId + " does not exist");
+            }
+            if (errors.isEmpty()) {
+                valid.add(index);
+            } else {
+                results[index] = new BatchItemResultDTO(index, cardDTO.getId(), HttpStatus.BAD_REQUEST.value(), errors);
+            }
+        }
+        return valid;
+    }
+
+    private static boolean isCached(Cache cache, Class<?> entityClass, Long id) {
+        return id == null || cache.contains(entityClass, id);
+    }
+
+    private static Long authorIdOf(Card card) {
+        return card.getAuthor() != null ? card.getAuthor().getId() : null;
+    }
+
+    private static Long categoryIdOf(Card card) {
+        return card.getCategory() != null ? card.getCategory().getId() : null;
+    }
+
+    private static Long authorIdOf(CardDTO cardDTO) {
+        return cardDTO.getAuthor() != null ? cardDTO.getAuthor().getId() : null;
+    }
+
+    private static Long categoryIdOf(CardDTO cardDTO) {
+        return cardDTO.getCategory() != null ? cardDTO.getCategory().getId() : null;
+    }
+
+    private List<String> validate(CardDTO cardDTO) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<CardDTO> violation : validator.validate(cardDTO)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
     }
 }
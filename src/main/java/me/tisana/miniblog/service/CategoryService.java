@@ -1,15 +1,20 @@
 package me.tisana.miniblog.service;
 
-import java.util.LinkedList;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import me.tisana.miniblog.domain.Category;
 import me.tisana.miniblog.repository.CategoryRepository;
 import me.tisana.miniblog.service.dto.CategoryDTO;
 import me.tisana.miniblog.service.mapper.CategoryMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +31,20 @@ public class CategoryService {
 
     private final CategoryMapper categoryMapper;
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    private final CardResponseCache cardResponseCache;
+
+    private final EntityManager entityManager;
+
+    public CategoryService(
+        CategoryRepository categoryRepository,
+        CategoryMapper categoryMapper,
+        CardResponseCache cardResponseCache,
+        EntityManager entityManager
+    ) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.cardResponseCache = cardResponseCache;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -53,7 +69,13 @@ public class CategoryService {
     public CategoryDTO update(CategoryDTO categoryDTO) {
         LOG.debug("Request to update Category : {}", categoryDTO);
         Category category = categoryMapper.toEntity(categoryDTO);
-        category = categoryRepository.save(category);
+        // The card count is maintained by CardCountService, the category is locked so that no card is counted meanwhile
+        for (Category existingCategory : categoryRepository.findAllForUpdateByIdIn(List.of(category.getId()))) {
+            category.setCardCount(existingCategory.getCardCount());
+        }
+        // Flushed so that the returned version is the incremented one
+        category = categoryRepository.saveAndFlush(category);
+        cardResponseCache.evictCategory(category.getId());
         return categoryMapper.toDto(category);
     }
 
@@ -66,26 +88,66 @@ public class CategoryService {
     public Optional<CategoryDTO> partialUpdate(CategoryDTO categoryDTO) {
         LOG.debug("Request to partially update Category : {}", categoryDTO);
 
+        // Locked so that no card is counted between reading and writing the card count
         return categoryRepository
-            .findById(categoryDTO.getId())
+            .findAllForUpdateByIdIn(List.of(categoryDTO.getId()))
+            .stream()
+            .findFirst()
             .map(existingCategory -> {
+                if (categoryDTO.getVersion() != null && !categoryDTO.getVersion().equals(existingCategory.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Category.class, existingCategory.getId());
+                }
                 categoryMapper.partialUpdate(existingCategory, categoryDTO);
 
                 return existingCategory;
             })
-            .map(categoryRepository::save)
-            .map(categoryMapper::toDto);
+            .map(categoryRepository::saveAndFlush)
+            .map(category -> {
+                cardResponseCache.evictCategory(category.getId());
+                return categoryMapper.toDto(category);
+            });
     }
 
     /**
      * Get all the categories.
      *
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public List<CategoryDTO> findAll() {
+    public Page<CategoryDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Categories");
-        return categoryRepository.findAll().stream().map(categoryMapper::toDto).collect(Collectors.toCollection(LinkedList::new));
+        return categoryRepository.findAll(pageable).map(categoryMapper::toDto);
+    }
+
+    /**
+     * Get the version stamp of all the categories, and hand it to the reader within the same read-only transaction.
+     *
+     * @param reader the reader of the categories.
+     * @throws IOException if the reader cannot write the categories.
+     */
+    @Transactional(readOnly = true)
+    public void readAllStamped(StampedReader reader) throws IOException {
+        LOG.debug("Request to get the version stamp of all Categories");
+        reader.read(categoryRepository.findVersionStamp());
+    }
+
+    /**
+     * Stream all the categories, one at a time in the order of their ids, within a single read-only transaction.
+     * <p>
+     * Each category is detached once handed to the consumer, so memory use does not grow with the number of categories.
+     *
+     * @param consumer the consumer of the categories.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<CategoryDTO> consumer) {
+        LOG.debug("Request to stream all Categories");
+        try (Stream<Category> categories = categoryRepository.streamAll()) {
+            categories.forEach(category -> {
+                consumer.accept(categoryMapper.toDto(category));
+                entityManager.detach(category);
+            });
+        }
     }
 
     /**
@@ -108,5 +170,6 @@ public class CategoryService {
     public void delete(Long id) {
         LOG.debug("Request to delete Category : {}", id);
         categoryRepository.deleteById(id);
+        cardResponseCache.evictCategory(id);
     }
 }
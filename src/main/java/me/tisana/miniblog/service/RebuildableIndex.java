@@ -0,0 +1,105 @@
+package me.tisana.miniblog.service;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holder of an in-memory index of the cards, kept up to date by the changes of the cards and rebuilt from the
+ * database without being cleared.
+ * <p>
+ * A rebuild fills a fresh index, which replaces the current one once complete, so that readers keep using the previous
+ * index meanwhile. The rows read by the rebuild may predate the changes applied while it runs, so the last change of
+ * each card during the rebuild is recorded and applied again to the fresh index as it is swapped in.
+ *
+ * @param <T> the type of the index, which must be thread-safe.
+ */
+public class RebuildableIndex<T> {
+
+    private final Supplier<T> factory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile T index;
+
+    private LongObjectHashMap<Consumer<T>> changesDuringRebuild;
+
+    public RebuildableIndex(Supplier<T> factory) {
+        this.factory = factory;
+        this.index = factory.get();
+    }
+
+    /**
+     * Get the current index.
+     *
+     * @return the index.
+     */
+    public T get() {
+        return index;
+    }
+
+    /**
+     * Apply the change of a card to the current index, and to the index being rebuilt, if any.
+     *
+     * @param cardId the id of the card.
+     * @param change the change, replacing the previous state of the card in the index.
+     */
+    public void apply(long cardId, Consumer<T> change) {
+        lock.lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(cardId, change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index, one rebuild at a time.
+     * <p>
+     * Changes are recorded from the start of the rebuild, so the loader must read a state at least as recent as its
+     * call.
+     *
+     * @param loader the load of all the cards into the fresh index.
+     * @return the fresh index, now current.
+     */
+    public T rebuild(Consumer<T> loader) {
+        rebuildLock.lock();
+        try {
+            T fresh = factory.get();
+            setChangesDuringRebuild(new LongObjectHashMap<>());
+            try {
+                loader.accept(fresh);
+                lock.lock();
+                try {
+                    for (ObjectCursor<Consumer<T>> change : changesDuringRebuild.values()) {
+                        change.value.accept(fresh);
+                    }
+                    index = fresh;
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                setChangesDuringRebuild(null);
+            }
+            return fresh;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void setChangesDuringRebuild(LongObjectHashMap<Consumer<T>> changes) {
+        lock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package me.tisana.miniblog.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the load while the others wait for its result
+ * instead of running their own, so that a burst of requests for an entity missing from the cache costs one query.
+ * <p>
+ * Nothing is kept once a load completes, the next caller running a new one. Followers get the very value, or
+ * exception, of the leader, so the load must not depend on the caller, and callers should not hold a transaction
+ * while waiting. Loads and coalesced calls are counted by the {@code single.flight.calls} meters, tagged with the
+ * name of the flight.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("single.flight.calls", loads, LongAdder::sum)
+            .description("Number of calls to a single flight")
+            .tag("name", name)
+            .tag("result", "loaded")
+            .register(meterRegistry);
+        FunctionCounter.builder("single.flight.calls", coalesced, LongAdder::sum)
+            .description("Number of calls to a single flight")
+            .tag("name", name)
+            .tag("result", "coalesced")
+            .register(meterRegistry);
+        Gauge.builder("single.flight.in.flight", inFlight, Map::size)
+            .description("Number of loads in flight")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Load the value of a key, or wait for the load of the same key already in flight.
+     *
+     * @param key the key.
+     * @param loader the load of the value, run by the first caller only.
+     * @return the value.
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
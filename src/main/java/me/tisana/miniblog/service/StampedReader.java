@@ -0,0 +1,20 @@
+package me.tisana.miniblog.service;
+
+import java.io.IOException;
+import me.tisana.miniblog.repository.VersionStamp;
+
+/**
+ * Reader of a list of entities, given the version stamp of the whole list within the read-only transaction the stamp
+ * was read in: the entities it then gets from the services are read from the same database, so a concurrent change can
+ * only make the stamp older than the entities.
+ */
+@FunctionalInterface
+public interface StampedReader {
+    /**
+     * Read the list.
+     *
+     * @param stamp the version stamp of the list.
+     * @throws IOException if the list cannot be written.
+     */
+    void read(VersionStamp stamp) throws IOException;
+}
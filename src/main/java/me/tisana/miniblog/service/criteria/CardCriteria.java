@@ -0,0 +1,232 @@
+package me.tisana.miniblog.service.criteria;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import me.tisana.miniblog.domain.enumeration.Status;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link me.tisana.miniblog.domain.Card} entity. This class is used
+ * in {@link me.tisana.miniblog.web.rest.CardResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /cards?status.equals=PUBLISH&categoryId.in=1,2&name.contains=something}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CardCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering Status
+     */
+    public static class StatusFilter extends Filter<Status> {
+
+        public StatusFilter() {}
+
+        public StatusFilter(StatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public StatusFilter copy() {
+            return new StatusFilter(this);
+        }
+    }
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter name;
+
+    private StatusFilter status;
+
+    private LongFilter authorId;
+
+    private LongFilter categoryId;
+
+    private Boolean distinct;
+
+    public CardCriteria() {}
+
+    public CardCriteria(CardCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.name = other.optionalName().map(StringFilter::copy).orElse(null);
+        this.status = other.optionalStatus().map(StatusFilter::copy).orElse(null);
+        this.authorId = other.optionalAuthorId().map(LongFilter::copy).orElse(null);
+        this.categoryId = other.optionalCategoryId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public CardCriteria copy() {
+        return new CardCriteria(this);
+    }
+
+    /**
+     * Tell whether any filter is set, so that the cards must be selected through these criteria.
+     *
+     * @return true if at least one filter is set.
+     */
+    public boolean hasFilters() {
+        return id != null || name != null || status != null || authorId != null || categoryId != null;
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public Optional<StringFilter> optionalName() {
+        return Optional.ofNullable(name);
+    }
+
+    public StringFilter name() {
+        if (name == null) {
+            setName(new StringFilter());
+        }
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public StatusFilter getStatus() {
+        return status;
+    }
+
+    public Optional<StatusFilter> optionalStatus() {
+        return Optional.ofNullable(status);
+    }
+
+    public StatusFilter status() {
+        if (status == null) {
+            setStatus(new StatusFilter());
+        }
+        return status;
+    }
+
+    public void setStatus(StatusFilter status) {
+        this.status = status;
+    }
+
+    public LongFilter getAuthorId() {
+        return authorId;
+    }
+
+    public Optional<LongFilter> optionalAuthorId() {
+        return Optional.ofNullable(authorId);
+    }
+
+    public LongFilter authorId() {
+        if (authorId == null) {
+            setAuthorId(new LongFilter());
+        }
+        return authorId;
+    }
+
+    public void setAuthorId(LongFilter authorId) {
+        this.authorId = authorId;
+    }
+
+    public LongFilter getCategoryId() {
+        return categoryId;
+    }
+
+    public Optional<LongFilter> optionalCategoryId() {
+        return Optional.ofNullable(categoryId);
+    }
+
+    public LongFilter categoryId() {
+        if (categoryId == null) {
+            setCategoryId(new LongFilter());
+        }
+        return categoryId;
+    }
+
+    public void setCategoryId(LongFilter categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CardCriteria that = (CardCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(authorId, that.authorId) &&
+            Objects.equals(categoryId, that.categoryId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, status, authorId, categoryId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CardCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            optionalStatus().map(f -> "status=" + f + ", ").orElse("") +
+            optionalAuthorId().map(f -> "authorId=" + f + ", ").orElse("") +
+            optionalCategoryId().map(f -> "categoryId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes for filtering entities.
+ */
+package me.tisana.miniblog.service.criteria;
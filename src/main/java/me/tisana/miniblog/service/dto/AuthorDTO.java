@@ -1,5 +1,6 @@
 package me.tisana.miniblog.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -21,6 +22,15 @@ public class AuthorDTO implements Serializable {
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
+    private Long version;
+
+    /**
+     * Left out of the summaries embedded in other representations, which do not read it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long cardCount;
+
     public Long getId() {
         return id;
     }
@@ -45,6 +55,22 @@ public class AuthorDTO implements Serializable {
         this.password = password;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCardCount() {
+        return cardCount;
+    }
+
+    public void setCardCount(Long cardCount) {
+        this.cardCount = cardCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -72,6 +98,8 @@ public class AuthorDTO implements Serializable {
         return "AuthorDTO{" +
             "id=" + getId() +
             ", username='" + getUsername() + "'" +
+            ", version=" + getVersion() +
+            ", cardCount=" + getCardCount() +
             "}";
     }
 }
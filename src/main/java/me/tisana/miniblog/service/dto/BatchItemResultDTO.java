@@ -0,0 +1,77 @@
+package me.tisana.miniblog.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The result of one item of a batch request.
+ * <p>
+ * The {@code status} is the HTTP status the item would have got as a single request,
+ * e.g. {@code 201} for a created entity, {@code 400} for an invalid one.
+ */
+public class BatchItemResultDTO implements Serializable {
+
+    private int index;
+
+    private Long id;
+
+    private int status;
+
+    private List<String> errors = List.of();
+
+    public BatchItemResultDTO() {}
+
+    public BatchItemResultDTO(int index, Long id, int status) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+    }
+
+    public BatchItemResultDTO(int index, Long id, int status, List<String> errors) {
+        this(index, id, status);
+        this.errors = errors;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchItemResultDTO{" +
+            "index=" + getIndex() +
+            ", id=" + getId() +
+            ", status=" + getStatus() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
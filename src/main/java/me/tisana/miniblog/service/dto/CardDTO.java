@@ -24,6 +24,8 @@ public class CardDTO implements Serializable {
 
     private CategoryDTO category;
 
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -72,6 +74,14 @@ public class CardDTO implements Serializable {
         this.category = category;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -103,6 +113,7 @@ public class CardDTO implements Serializable {
             ", content='" + getContent() + "'" +
             ", author=" + getAuthor() +
             ", category=" + getCategory() +
+            ", version=" + getVersion() +
             "}";
     }
 }
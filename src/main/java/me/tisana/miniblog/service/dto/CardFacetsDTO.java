@@ -0,0 +1,71 @@
+package me.tisana.miniblog.service.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+import me.tisana.miniblog.domain.enumeration.Status;
+
+/**
+ * The number of cards matching some filters, and of the cards of each status, category and author.
+ */
+public class CardFacetsDTO implements Serializable {
+
+    private long total;
+
+    private Map<Status, Integer> statuses = Map.of();
+
+    private Map<Long, Integer> categories = Map.of();
+
+    private Map<Long, Integer> authors = Map.of();
+
+    public CardFacetsDTO() {}
+
+    public CardFacetsDTO(long total, Map<Status, Integer> statuses, Map<Long, Integer> categories, Map<Long, Integer> authors) {
+        this.total = total;
+        this.statuses = statuses;
+        this.categories = categories;
+        this.authors = authors;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<Status, Integer> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Map<Status, Integer> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Map<Long, Integer> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<Long, Integer> categories) {
+        this.categories = categories;
+    }
+
+    public Map<Long, Integer> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(Map<Long, Integer> authors) {
+        this.authors = authors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CardFacetsDTO{" +
+            "total=" + getTotal() +
+            ", statuses=" + getStatuses() +
+            ", categories=" + getCategories() +
+            ", authors=" + getAuthors() +
+            "}";
+    }
+}
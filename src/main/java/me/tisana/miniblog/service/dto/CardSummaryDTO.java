@@ -0,0 +1,106 @@
+package me.tisana.miniblog.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import me.tisana.miniblog.domain.enumeration.Status;
+
+/**
+ * A summary DTO for the {@link me.tisana.miniblog.domain.Card} entity, without its content, for list views.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CardSummaryDTO implements Serializable {
+
+    private Long id;
+
+    private String name;
+
+    private Status status;
+
+    private AuthorDTO author;
+
+    private CategoryDTO category;
+
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public AuthorDTO getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(AuthorDTO author) {
+        this.author = author;
+    }
+
+    public CategoryDTO getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryDTO category) {
+        this.category = category;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CardSummaryDTO)) {
+            return false;
+        }
+
+        CardSummaryDTO cardSummaryDTO = (CardSummaryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, cardSummaryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CardSummaryDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", author=" + getAuthor() +
+            ", category=" + getCategory() +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -1,5 +1,7 @@
 package me.tisana.miniblog.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.Objects;
@@ -15,6 +17,15 @@ public class CategoryDTO implements Serializable {
     @NotNull
     private String name;
 
+    private Long version;
+
+    /**
+     * Left out of the summaries embedded in other representations, which do not read it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long cardCount;
+
     public Long getId() {
         return id;
     }
@@ -31,6 +42,22 @@ public class CategoryDTO implements Serializable {
         this.name = name;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCardCount() {
+        return cardCount;
+    }
+
+    public void setCardCount(Long cardCount) {
+        this.cardCount = cardCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -58,6 +85,8 @@ public class CategoryDTO implements Serializable {
         return "CategoryDTO{" +
             "id=" + getId() +
             ", name='" + getName() + "'" +
+            ", version=" + getVersion() +
+            ", cardCount=" + getCardCount() +
             "}";
     }
 }
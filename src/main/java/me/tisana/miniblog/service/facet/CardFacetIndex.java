@@ -0,0 +1,288 @@
+package me.tisana.miniblog.service.facet;
+
+import com.carrotsearch.hppc.IntArrayDeque;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongIntHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import me.tisana.miniblog.domain.enumeration.Status;
+
+/**
+ * In-memory index of the cards by status, category and author, counting the cards of each facet value with
+ * intersections of {@link CompressedBitmap}s instead of {@code count(*)} queries.
+ * <p>
+ * Every indexed card gets an internal document number, the numbers of removed cards being reused so that they stay
+ * dense whatever the card ids. Each facet value has the bitmap of the documents having it, and each facet keeps the
+ * value of every document, so that a changed card is moved from one bitmap to another.
+ * <p>
+ * This class is thread-safe: counts share a read lock and updates take the write lock.
+ */
+public class CardFacetIndex {
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongIntHashMap documentsByCardId = new LongIntHashMap();
+
+    private final IntArrayDeque freeDocuments = new IntArrayDeque();
+
+    private CompressedBitmap allDocuments = new CompressedBitmap();
+
+    private final Facet statuses = new Facet();
+
+    private final Facet categories = new Facet();
+
+    private final Facet authors = new Facet();
+
+    private int documentCount;
+
+    /**
+     * Index a card, replacing any previous version of it.
+     *
+     * @param cardId the id of the card.
+     * @param status the status of the card, may be {@code null}.
+     * @param categoryId the id of the category of the card, may be {@code null}.
+     * @param authorId the id of the author of the card, may be {@code null}.
+     */
+    public void index(long cardId, Status status, Long categoryId, Long authorId) {
+        lock.writeLock().lock();
+        try {
+            int document = documentsByCardId.getOrDefault(cardId, -1);
+            if (document < 0) {
+                document = freeDocuments.isEmpty() ? documentCount++ : freeDocuments.removeLast();
+                documentsByCardId.put(cardId, document);
+                allDocuments.add(document);
+            }
+            statuses.set(document, status != null ? Long.valueOf(status.ordinal()) : null);
+            categories.set(document, categoryId);
+            authors.set(document, authorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a card from the index.
+     *
+     * @param cardId the id of the card.
+     */
+    public void remove(long cardId) {
+        lock.writeLock().lock();
+        try {
+            int document = documentsByCardId.getOrDefault(cardId, -1);
+            if (document >= 0) {
+                documentsByCardId.remove(cardId);
+                allDocuments.remove(document);
+                statuses.set(document, null);
+                categories.set(document, null);
+                authors.set(document, null);
+                freeDocuments.addLast(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all the cards from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documentsByCardId.clear();
+            freeDocuments.clear();
+            allDocuments = new CompressedBitmap();
+            statuses.clear();
+            categories.clear();
+            authors.clear();
+            documentCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed cards.
+     *
+     * @return the number of cards.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsByCardId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the cards matching the filters, and for each facet, the cards having each of its values.
+     * <p>
+     * A filter matches the cards having any of its values, and an empty filter matches all the cards. The counts of a
+     * facet apply the filters of the other facets but not its own, so that they tell how many cards each value would
+     * add to or keep in the selection. Values without cards are left out.
+     *
+     * @param statusFilter the statuses of the cards to count.
+     * @param categoryFilter the ids of the categories of the cards to count.
+     * @param authorFilter the ids of the authors of the cards to count.
+     * @return the counts.
+     */
+    public FacetCounts count(Collection<Status> statusFilter, Collection<Long> categoryFilter, Collection<Long> authorFilter) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap byStatus = statuses.union(statusFilter.stream().map(status -> (long) status.ordinal()).toList());
+            CompressedBitmap byCategory = categories.union(categoryFilter);
+            CompressedBitmap byAuthor = authors.union(authorFilter);
+
+            CompressedBitmap selection = and(byStatus, and(byCategory, byAuthor));
+            int total = selection != null ? selection.cardinality() : allDocuments.cardinality();
+            return new FacetCounts(
+                total,
+                statuses.count(and(byCategory, byAuthor), value -> STATUSES[(int) value]),
+                categories.count(and(byStatus, byAuthor), Long::valueOf),
+                authors.count(and(byStatus, byCategory), Long::valueOf)
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect two selections, {@code null} selecting all the documents.
+     */
+    private static CompressedBitmap and(CompressedBitmap first, CompressedBitmap second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return first.and(second);
+    }
+
+    /**
+     * Counts of cards by facet value.
+     *
+     * @param total the number of cards matching all the filters.
+     * @param statuses the number of cards by status.
+     * @param categories the number of cards by category id.
+     * @param authors the number of cards by author id.
+     */
+    public record FacetCounts(int total, Map<Status, Integer> statuses, Map<Long, Integer> categories, Map<Long, Integer> authors) {}
+
+    /**
+     * The documents of each value of a facet, values being numbered in order of appearance.
+     */
+    private static final class Facet {
+
+        private static final int NONE = -1;
+
+        /**
+         * Selected documents walked for the cost of intersecting one container of the selection with one value.
+         */
+        private static final int WALK_FACTOR = 64;
+
+        private final LongIntHashMap ordinalsByValue = new LongIntHashMap();
+
+        private final LongArrayList values = new LongArrayList();
+
+        private final List<CompressedBitmap> documents = new ArrayList<>();
+
+        private int[] ordinalsByDocument = new int[0];
+
+        private void set(int document, Long value) {
+            if (document >= ordinalsByDocument.length) {
+                int length = ordinalsByDocument.length;
+                ordinalsByDocument = Arrays.copyOf(ordinalsByDocument, Math.max(document + 1, length * 2));
+                Arrays.fill(ordinalsByDocument, length, ordinalsByDocument.length, NONE);
+            }
+            int previous = ordinalsByDocument[document];
+            int ordinal = value != null ? ordinalOf(value) : NONE;
+            if (previous == ordinal) {
+                return;
+            }
+            if (previous != NONE) {
+                documents.get(previous).remove(document);
+            }
+            if (ordinal != NONE) {
+                documents.get(ordinal).add(document);
+            }
+            ordinalsByDocument[document] = ordinal;
+        }
+
+        private int ordinalOf(long value) {
+            int ordinal = ordinalsByValue.getOrDefault(value, NONE);
+            if (ordinal == NONE) {
+                ordinal = values.size();
+                ordinalsByValue.put(value, ordinal);
+                values.add(value);
+                documents.add(new CompressedBitmap());
+            }
+            return ordinal;
+        }
+
+        /**
+         * Get the documents having any of the values, {@code null} if there are no values so that all the documents
+         * are selected.
+         */
+        private CompressedBitmap union(Collection<Long> filter) {
+            if (filter.isEmpty()) {
+                return null;
+            }
+            CompressedBitmap union = new CompressedBitmap();
+            for (long value : filter) {
+                int ordinal = ordinalsByValue.getOrDefault(value, NONE);
+                if (ordinal != NONE) {
+                    union = union.or(documents.get(ordinal));
+                }
+            }
+            return union;
+        }
+
+        /**
+         * Count the selected documents of each value. A selection smaller than the work of intersecting it with the
+         * bitmap of every value, e.g. to count thousands of authors, is rather walked once to look up the values.
+         */
+        private <K> Map<K, Integer> count(CompressedBitmap selection, LongFunction<K> key) {
+            int[] counts = new int[documents.size()];
+            if (selection == null) {
+                for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                    counts[ordinal] = documents.get(ordinal).cardinality();
+                }
+            } else if (selection.cardinality() < (long) counts.length * selection.containerCount() * WALK_FACTOR) {
+                selection.forEach(document -> {
+                    int ordinal = ordinalsByDocument[document];
+                    if (ordinal != NONE) {
+                        counts[ordinal]++;
+                    }
+                });
+            } else {
+                for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                    counts[ordinal] = documents.get(ordinal).andCardinality(selection);
+                }
+            }
+            Map<K, Integer> countsByValue = new TreeMap<>();
+            for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+                if (counts[ordinal] > 0) {
+                    countsByValue.put(key.apply(values.get(ordinal)), counts[ordinal]);
+                }
+            }
+            return countsByValue;
+        }
+
+        private void clear() {
+            ordinalsByValue.clear();
+            values.clear();
+            documents.clear();
+            ordinalsByDocument = new int[0];
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package me.tisana.miniblog.service.facet;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CardRepository.CardFacets;
+import me.tisana.miniblog.service.RebuildableIndex;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CardFacetsDTO;
+import me.tisana.miniblog.service.facet.CardFacetIndex.FacetCounts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for counting {@link Card}s by status, category and author, backed by an in-memory {@link CardFacetIndex}.
+ * <p>
+ * The index is rebuilt from the database once the application is ready, then kept up to date by
+ * {@link me.tisana.miniblog.service.CardService}, changes being applied once their transaction commits. Counts keep
+ * using the previous index while it is rebuilt, see {@link RebuildableIndex}.
+ * <p>
+ * Each node holds its own index: the cards changed by the other nodes are {@link #refresh(Collection) refreshed} as
+ * their cache evictions are received, see {@code application.cache.invalidation}.
+ */
+@Service
+public class CardFacetService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardFacetService.class);
+
+    private final RebuildableIndex<CardFacetIndex> index = new RebuildableIndex<>(CardFacetIndex::new);
+
+    private final CardRepository cardRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CardFacetService(CardRepository cardRepository, PlatformTransactionManager transactionManager) {
+        this.cardRepository = cardRepository;
+        // Not read-only, so that the cards are read from the primary rather than from a replica lagging behind the
+        // changes applied meanwhile
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuild the facet index from the database, into a fresh index replacing the current one once complete.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        LOG.debug("Request to rebuild the Card facet index");
+        long start = System.currentTimeMillis();
+        CardFacetIndex rebuilt = index.rebuild(fresh ->
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CardFacets> facets = cardRepository.streamAllFacets()) {
+                    facets.forEach(card -> fresh.index(card.getId(), card.getStatus(), card.getCategoryId(), card.getAuthorId()));
+                }
+            })
+        );
+        LOG.info("Card facet index rebuilt with {} cards in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index a card once the current transaction, if any, commits.
+     *
+     * @param cardDTO the card to index.
+     */
+    public void index(CardDTO cardDTO) {
+        Long id = cardDTO.getId();
+        Status status = cardDTO.getStatus();
+        Long categoryId = cardDTO.getCategory() != null ? cardDTO.getCategory().getId() : null;
+        Long authorId = cardDTO.getAuthor() != null ? cardDTO.getAuthor().getId() : null;
+        afterCommit(() -> index.apply(id, facetIndex -> facetIndex.index(id, status, categoryId, authorId)));
+    }
+
+    /**
+     * Remove a card from the index once the current transaction, if any, commits.
+     *
+     * @param id the id of the card.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> index.apply(id, facetIndex -> facetIndex.remove(id)));
+    }
+
+    /**
+     * Read again the cards of a list of ids, changed by another node, indexing the existing ones and removing the
+     * others.
+     * <p>
+     * Cards are read from the primary, as a replica may not have the changes yet.
+     *
+     * @param ids the ids of the cards.
+     */
+    public void refresh(Collection<Long> ids) {
+        LOG.debug("Request to refresh {} Cards in the facet index", ids.size());
+        List<CardFacets> facets = transactionTemplate.execute(status -> cardRepository.findAllFacetsByIdIn(ids));
+        LongHashSet removed = new LongHashSet();
+        ids.forEach(removed::add);
+        for (CardFacets card : facets) {
+            long id = card.getId();
+            removed.remove(id);
+            index.apply(id, facetIndex -> facetIndex.index(id, card.getStatus(), card.getCategoryId(), card.getAuthorId()));
+        }
+        for (LongCursor cursor : removed) {
+            // The cursor is reused by the iteration, while the change may be applied again after a rebuild
+            long id = cursor.value;
+            index.apply(id, facetIndex -> facetIndex.remove(id));
+        }
+    }
+
+    /**
+     * Count the cards matching the filters, and the cards of each status, category and author.
+     * <p>
+     * The counts of each facet apply the filters of the other facets but not its own.
+     *
+     * @param statuses the statuses of the cards to count, all if empty.
+     * @param categoryIds the ids of the categories of the cards to count, all if empty.
+     * @param authorIds the ids of the authors of the cards to count, all if empty.
+     * @return the counts.
+     */
+    public CardFacetsDTO count(Collection<Status> statuses, Collection<Long> categoryIds, Collection<Long> authorIds) {
+        LOG.debug("Request to count Cards by facets, statuses : {}, categories : {}, authors : {}", statuses, categoryIds, authorIds);
+        FacetCounts counts = index.get().count(statuses, categoryIds, authorIds);
+        return new CardFacetsDTO(counts.total(), counts.statuses(), counts.categories(), counts.authors());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-process faceted counts of cards.
+ */
+package me.tisana.miniblog.service.facet;
@@ -6,6 +6,18 @@ import org.mapstruct.*;
 
 /**
  * Mapper for the entity {@link Author} and its DTO {@link AuthorDTO}.
+ * <p>
+ * The card count is maintained by the card service, so it is never copied from a DTO.
  */
 @Mapper(componentModel = "spring")
-public interface AuthorMapper extends EntityMapper<AuthorDTO, Author> {}
+public interface AuthorMapper extends EntityMapper<AuthorDTO, Author> {
+    @Override
+    @Mapping(target = "cardCount", ignore = true)
+    Author toEntity(AuthorDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "cardCount", ignore = true)
+    void partialUpdate(@MappingTarget Author entity, AuthorDTO dto);
+}
@@ -3,8 +3,10 @@ package me.tisana.miniblog.service.mapper;
 import me.tisana.miniblog.domain.Author;
 import me.tisana.miniblog.domain.Card;
 import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.repository.CardSummary;
 import me.tisana.miniblog.service.dto.AuthorDTO;
 import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CardSummaryDTO;
 import me.tisana.miniblog.service.dto.CategoryDTO;
 import org.mapstruct.*;
 
@@ -21,11 +23,41 @@ public interface CardMapper extends EntityMapper<CardDTO, Card> {
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     @Mapping(target = "username", source = "username")
+    @Mapping(target = "version", source = "version")
     AuthorDTO toDtoAuthorUsername(Author author);
 
     @Named("categoryName")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     @Mapping(target = "name", source = "name")
+    @Mapping(target = "version", source = "version")
     CategoryDTO toDtoCategoryName(Category category);
+
+    @Mapping(target = "author", source = ".", qualifiedByName = "summaryAuthor")
+    @Mapping(target = "category", source = ".", qualifiedByName = "summaryCategory")
+    CardSummaryDTO toSummaryDto(CardSummary cardSummary);
+
+    @Named("summaryAuthor")
+    default AuthorDTO toSummaryAuthor(CardSummary cardSummary) {
+        if (cardSummary.authorId() == null) {
+            return null;
+        }
+        AuthorDTO authorDTO = new AuthorDTO();
+        authorDTO.setId(cardSummary.authorId());
+        authorDTO.setUsername(cardSummary.authorUsername());
+        authorDTO.setVersion(cardSummary.authorVersion());
+        return authorDTO;
+    }
+
+    @Named("summaryCategory")
+    default CategoryDTO toSummaryCategory(CardSummary cardSummary) {
+        if (cardSummary.categoryId() == null) {
+            return null;
+        }
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(cardSummary.categoryId());
+        categoryDTO.setName(cardSummary.categoryName());
+        categoryDTO.setVersion(cardSummary.categoryVersion());
+        return categoryDTO;
+    }
 }
@@ -6,6 +6,18 @@ import org.mapstruct.*;
 
 /**
  * Mapper for the entity {@link Category} and its DTO {@link CategoryDTO}.
+ * <p>
+ * The card count is maintained by the card service, so it is never copied from a DTO.
  */
 @Mapper(componentModel = "spring")
-public interface CategoryMapper extends EntityMapper<CategoryDTO, Category> {}
+public interface CategoryMapper extends EntityMapper<CategoryDTO, Category> {
+    @Override
+    @Mapping(target = "cardCount", ignore = true)
+    Category toEntity(CategoryDTO dto);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "cardCount", ignore = true)
+    void partialUpdate(@MappingTarget Category entity, CategoryDTO dto);
+}
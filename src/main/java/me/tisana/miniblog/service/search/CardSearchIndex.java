@@ -0,0 +1,437 @@
+package me.tisana.miniblog.service.search;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.ObjectIntHashMap;
+import com.carrotsearch.hppc.cursors.ObjectIntCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the name and content of cards, ranked with BM25.
+ * <p>
+ * Every indexed card gets an internal, increasing document number. Posting lists hold document numbers and
+ * term frequencies in primitive arrays sorted by document number, so answering a query is a merge of a few
+ * sorted int arrays feeding a bounded heap. Re-indexing a card tombstones its previous document and appends
+ * a new one; tombstoned documents are purged once they make up half of the index.
+ * <p>
+ * This class is thread-safe: searches share a read lock and updates take the write lock.
+ */
+public class CardSearchIndex {
+
+    static final float K1 = 1.2f;
+
+    static final float B = 0.75f;
+
+    /**
+     * Terms of the card name count this many times, as a name says more about a card than its content.
+     */
+    static final int NAME_BOOST = 2;
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final int MIN_PURGE_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final LongIntHashMap documentsByCardId = new LongIntHashMap();
+
+    private final BitSet deleted = new BitSet();
+
+    private long[] cardIds = new long[16];
+
+    private int[] lengths = new int[16];
+
+    private int documentCount;
+
+    private int deletedCount;
+
+    private long totalLength;
+
+    /**
+     * Index a card, replacing any previous version of it.
+     *
+     * @param cardId the id of the card.
+     * @param name the name of the card.
+     * @param content the content of the card, may be {@code null}.
+     */
+    public void index(long cardId, String name, String content) {
+        ObjectIntHashMap<String> frequencies = new ObjectIntHashMap<>();
+        int length = collectTerms(frequencies, name, NAME_BOOST) + collectTerms(frequencies, content, 1);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(cardId);
+            if (length > 0) {
+                int document = addDocument(cardId, length);
+                for (ObjectIntCursor<String> term : frequencies) {
+                    postings.computeIfAbsent(term.key, key -> new PostingList()).add(document, term.value);
+                }
+            }
+            purgeIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a card from the index.
+     *
+     * @param cardId the id of the card.
+     */
+    public void remove(long cardId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(cardId);
+            purgeIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove all the cards from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentsByCardId.clear();
+            deleted.clear();
+            cardIds = new long[16];
+            lengths = new int[16];
+            documentCount = 0;
+            deletedCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of cards in the index.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the cards matching any of the terms of the query, best matches first.
+     *
+     * @param query the query text.
+     * @param offset the number of best matches to skip.
+     * @param limit the maximum number of matches to return.
+     * @return the ids of the matching cards, and the total number of matches.
+     * @throws IllegalArgumentException if the offset or the limit is negative.
+     */
+    public SearchHits search(String query, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Invalid offset " + offset + " or limit " + limit);
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            int liveCount = documentCount - deletedCount;
+            if (lists.isEmpty() || liveCount == 0) {
+                return SearchHits.EMPTY;
+            }
+            return merge(lists, liveCount, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchHits merge(List<PostingList> lists, int liveCount, int offset, int limit) {
+        int termCount = lists.size();
+        int[][] documents = new int[termCount][];
+        int[][] frequencies = new int[termCount][];
+        int[] sizes = new int[termCount];
+        // Document frequencies include tombstoned documents, so they are weighed against all the documents
+        float[] idf = new float[termCount];
+        for (int i = 0; i < termCount; i++) {
+            PostingList list = lists.get(i);
+            documents[i] = list.documents;
+            frequencies[i] = list.frequencies;
+            sizes[i] = list.size;
+            idf[i] = (float) Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+        }
+        float averageLength = (float) totalLength / liveCount;
+        TopDocuments top = new TopDocuments((int) Math.min((long) offset + limit, liveCount));
+        int[] cursors = new int[termCount];
+        long totalHits = 0;
+        while (true) {
+            int document = Integer.MAX_VALUE;
+            for (int i = 0; i < termCount; i++) {
+                if (cursors[i] < sizes[i] && documents[i][cursors[i]] < document) {
+                    document = documents[i][cursors[i]];
+                }
+            }
+            if (document == Integer.MAX_VALUE) {
+                break;
+            }
+            boolean live = !deleted.get(document);
+            float norm = K1 * (1 - B + (B * lengths[document]) / averageLength);
+            float score = 0;
+            for (int i = 0; i < termCount; i++) {
+                if (cursors[i] < sizes[i] && documents[i][cursors[i]] == document) {
+                    int tf = frequencies[i][cursors[i]];
+                    score += (idf[i] * tf * (K1 + 1)) / (tf + norm);
+                    cursors[i]++;
+                }
+            }
+            if (live) {
+                totalHits++;
+                top.offer(document, score);
+            }
+        }
+        int[] best = top.sorted();
+        if (offset >= best.length) {
+            return new SearchHits(new long[0], totalHits);
+        }
+        long[] ids = new long[best.length - offset];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cardIds[best[offset + i]];
+        }
+        return new SearchHits(ids, totalHits);
+    }
+
+    private int addDocument(long cardId, int length) {
+        if (documentCount == cardIds.length) {
+            int capacity = cardIds.length + (cardIds.length >> 1);
+            cardIds = Arrays.copyOf(cardIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        int document = documentCount++;
+        cardIds[document] = cardId;
+        lengths[document] = length;
+        totalLength += length;
+        documentsByCardId.put(cardId, document);
+        return document;
+    }
+
+    private void removeDocument(long cardId) {
+        int document = documentsByCardId.getOrDefault(cardId, -1);
+        if (document < 0) {
+            return;
+        }
+        documentsByCardId.remove(cardId);
+        deleted.set(document);
+        deletedCount++;
+        totalLength -= lengths[document];
+    }
+
+    private void purgeIfNeeded() {
+        if (deletedCount < MIN_PURGE_SIZE || deletedCount * 2 < documentCount) {
+            return;
+        }
+        int[] remap = new int[documentCount];
+        int next = 0;
+        for (int document = 0; document < documentCount; document++) {
+            if (deleted.get(document)) {
+                remap[document] = -1;
+            } else {
+                remap[document] = next;
+                cardIds[next] = cardIds[document];
+                lengths[next] = lengths[document];
+                documentsByCardId.put(cardIds[next], next);
+                next++;
+            }
+        }
+        for (Iterator<PostingList> iterator = postings.values().iterator(); iterator.hasNext(); ) {
+            PostingList list = iterator.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                iterator.remove();
+            }
+        }
+        deleted.clear();
+        documentCount = next;
+        deletedCount = 0;
+    }
+
+    private static int collectTerms(ObjectIntHashMap<String> frequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.addTo(token, weight);
+        }
+        return tokens.size() * weight;
+    }
+
+    /**
+     * Split a text into lower-cased terms made of letters and digits.
+     *
+     * @param text the text to split, may be {@code null}.
+     * @return the terms, in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean termChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                tokens.add(lowerCase.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Ids of the cards matching a query, best matches first, and the total number of matches.
+     */
+    public record SearchHits(long[] cardIds, long totalHits) {
+        static final SearchHits EMPTY = new SearchHits(new long[0], 0);
+    }
+
+    /**
+     * Document numbers and term frequencies of a term, sorted by document number.
+     */
+    private static final class PostingList {
+
+        private int[] documents = new int[4];
+
+        private int[] frequencies = new int[4];
+
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                int capacity = documents.length + (documents.length >> 1);
+                documents = Arrays.copyOf(documents, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int document = remap[documents[i]];
+                if (document >= 0) {
+                    documents[next] = document;
+                    frequencies[next] = frequencies[i];
+                    next++;
+                }
+            }
+            size = next;
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the best scoring documents, ties going to the oldest document.
+     */
+    private static final class TopDocuments {
+
+        private final int[] documents;
+
+        private final float[] scores;
+
+        private int size;
+
+        TopDocuments(int capacity) {
+            documents = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void offer(int document, float score) {
+            if (documents.length == 0) {
+                return;
+            }
+            if (size < documents.length) {
+                documents[size] = document;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (isWorse(documents[0], scores[0], document, score)) {
+                documents[0] = document;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        int[] sorted() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = documents[0];
+                size--;
+                documents[0] = documents[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!isWorse(documents[index], scores[index], documents[parent], scores[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && isWorse(documents[left], scores[left], documents[worst], scores[worst])) {
+                    worst = left;
+                }
+                if (right < size && isWorse(documents[right], scores[right], documents[worst], scores[worst])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int document = documents[i];
+            documents[i] = documents[j];
+            documents[j] = document;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+
+        private static boolean isWorse(int document, float score, int otherDocument, float otherScore) {
+            return score < otherScore || (score == otherScore && document > otherDocument);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package me.tisana.miniblog.service.search;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CardRepository.CardText;
+import me.tisana.miniblog.service.RebuildableIndex;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.mapper.CardMapper;
+import me.tisana.miniblog.service.search.CardSearchIndex.SearchHits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for full-text search of {@link Card}s, backed by an in-memory {@link CardSearchIndex}.
+ * <p>
+ * The index is rebuilt from the database once the application is ready, then kept up to date by
+ * {@link me.tisana.miniblog.service.CardService}, changes being applied once their transaction commits. Searches keep
+ * using the previous index while it is rebuilt, see {@link RebuildableIndex}.
+ * <p>
+ * Each node holds its own index: the cards changed by the other nodes are {@link #refresh(Collection) refreshed} as
+ * their cache evictions are received, see {@code application.cache.invalidation}.
+ */
+@Service
+public class CardSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardSearchService.class);
+
+    /**
+     * Maximum number of best matches a search can page through, as ranking a page keeps all the matches before it.
+     */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final RebuildableIndex<CardSearchIndex> index = new RebuildableIndex<>(CardSearchIndex::new);
+
+    private final CardRepository cardRepository;
+
+    private final CardMapper cardMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CardSearchService(CardRepository cardRepository, CardMapper cardMapper, PlatformTransactionManager transactionManager) {
+        this.cardRepository = cardRepository;
+        this.cardMapper = cardMapper;
+        // Not read-only, so that the cards are read from the primary rather than from a replica lagging behind the
+        // changes applied meanwhile
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuild the search index from the database, into a fresh index replacing the current one once complete.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        LOG.debug("Request to rebuild the Card search index");
+        long start = System.currentTimeMillis();
+        CardSearchIndex rebuilt = index.rebuild(fresh ->
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CardText> texts = cardRepository.streamAllTexts()) {
+                    texts.forEach(text -> fresh.index(text.getId(), text.getName(), text.getContent()));
+                }
+            })
+        );
+        LOG.info("Card search index rebuilt with {} cards in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Index a card once the current transaction, if any, commits.
+     *
+     * @param cardDTO the card to index.
+     */
+    public void index(CardDTO cardDTO) {
+        Long id = cardDTO.getId();
+        String name = cardDTO.getName();
+        String content = cardDTO.getContent();
+        afterCommit(() -> index.apply(id, searchIndex -> searchIndex.index(id, name, content)));
+    }
+
+    /**
+     * Remove a card from the index once the current transaction, if any, commits.
+     *
+     * @param id the id of the card.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> index.apply(id, searchIndex -> searchIndex.remove(id)));
+    }
+
+    /**
+     * Read again the cards of a list of ids, changed by another node, indexing the existing ones and removing the
+     * others.
+     * <p>
+     * Cards are read from the primary, as a replica may not have the changes yet.
+     *
+     * @param ids the ids of the cards.
+     */
+    public void refresh(Collection<Long> ids) {
+        LOG.debug("Request to refresh {} Cards in the search index", ids.size());
+        List<CardText> texts = transactionTemplate.execute(status -> cardRepository.findAllTextsByIdIn(ids));
+        LongHashSet removed = new LongHashSet();
+        ids.forEach(removed::add);
+        for (CardText text : texts) {
+            long id = text.getId();
+            removed.remove(id);
+            index.apply(id, searchIndex -> searchIndex.index(id, text.getName(), text.getContent()));
+        }
+        for (LongCursor cursor : removed) {
+            // The cursor is reused by the iteration, while the change may be applied again after a rebuild
+            long id = cursor.value;
+            index.apply(id, searchIndex -> searchIndex.remove(id));
+        }
+    }
+
+    /**
+     * Search the cards matching a query, best matches first.
+     *
+     * @param query the query text.
+     * @param pageable the pagination information, within the {@link #MAX_RESULT_WINDOW} best matches.
+     * @return the page of matching entities.
+     * @throws IllegalArgumentException if the page is beyond the {@link #MAX_RESULT_WINDOW} best matches.
+     */
+    @Transactional(readOnly = true)
+    public Page<CardDTO> search(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Cards for query : {}", query);
+        if (!isWithinResultWindow(pageable)) {
+            throw new IllegalArgumentException("The page is beyond the " + MAX_RESULT_WINDOW + " best matches");
+        }
+        SearchHits hits = index.get().search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = new ArrayList<>(hits.cardIds().length);
+        for (long id : hits.cardIds()) {
+            ids.add(id);
+        }
+        Map<Long, CardDTO> cards = ids.isEmpty()
+            ? Map.of()
+            : cardRepository
+                .findAllWithToOneRelationshipsByIdIn(ids)
+                .stream()
+                .map(cardMapper::toDto)
+                .collect(Collectors.toMap(CardDTO::getId, Function.identity()));
+        // Keep the relevance order, skipping cards deleted since they were indexed
+        List<CardDTO> content = ids.stream().map(cards::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.totalHits());
+    }
+
+    /**
+     * Whether a page is within the {@link #MAX_RESULT_WINDOW} best matches.
+     *
+     * @param pageable the pagination information.
+     * @return {@code true} if the page can be searched.
+     */
+    public static boolean isWithinResultWindow(Pageable pageable) {
+        return pageable.getOffset() <= MAX_RESULT_WINDOW - pageable.getPageSize();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-process full-text search.
+ */
+package me.tisana.miniblog.service.search;
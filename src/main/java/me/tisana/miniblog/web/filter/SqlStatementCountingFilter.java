@@ -0,0 +1,88 @@
+package me.tisana.miniblog.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import me.tisana.miniblog.management.SqlStatementCounter;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter counting the SQL statements of each request, with the {@link SqlStatementCounter}.
+ * <p>
+ * The count is recorded in the {@code http.server.requests.sql.statements} distribution, by method and URI pattern, and
+ * optionally reported to the client in a {@code Server-Timing} header, added just before the response is committed.
+ */
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final MeterRegistry registry;
+
+    private final boolean serverTiming;
+
+    public SqlStatementCountingFilter(MeterRegistry registry, boolean serverTiming) {
+        this.registry = registry;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open(request.getMethod() + " " + request.getRequestURI())) {
+            HttpServletResponse filteredResponse = serverTiming ? new ServerTimingResponseWrapper(response, scope) : response;
+            try {
+                filterChain.doFilter(request, filteredResponse);
+            } finally {
+                if (serverTiming && !response.isCommitted()) {
+                    response.setHeader(SERVER_TIMING_HEADER, serverTiming(scope));
+                }
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("Number of SQL statements prepared by a request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(scope.getCount());
+        if (scope.getRepeated() > 0) {
+            Counter.builder("http.server.requests.sql.repeated")
+                .description("Number of selects run more than the repeat threshold in a request, possible N+1 patterns")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .increment(scope.getRepeated());
+        }
+    }
+
+    private static String serverTiming(SqlStatementCounter.Scope scope) {
+        return "sql;desc=\"" + scope.getCount() + " statements\"";
+    }
+
+    private static final class ServerTimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+
+        private ServerTimingResponseWrapper(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(SERVER_TIMING_HEADER, serverTiming(scope));
+        }
+    }
+}
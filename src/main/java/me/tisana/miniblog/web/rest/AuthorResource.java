@@ -1,23 +1,47 @@
 package me.tisana.miniblog.web.rest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import me.tisana.miniblog.repository.AuthorRepository;
+import me.tisana.miniblog.repository.AuthorRepository.AuthorVersion;
 import me.tisana.miniblog.service.AuthorService;
+import me.tisana.miniblog.service.CardService;
+import me.tisana.miniblog.service.SingleFlight;
 import me.tisana.miniblog.service.dto.AuthorDTO;
+import me.tisana.miniblog.service.dto.CardDTO;
 import me.tisana.miniblog.web.rest.errors.BadRequestAlertException;
+import me.tisana.miniblog.web.rest.errors.PreconditionFailedAlertException;
+import me.tisana.miniblog.web.rest.util.ETagUtil;
+import me.tisana.miniblog.web.rest.util.JsonStreamUtil;
+import me.tisana.miniblog.web.rest.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * REST controller for managing {@link me.tisana.miniblog.domain.Author}.
@@ -30,6 +54,12 @@ public class AuthorResource {
 
     private static final String ENTITY_NAME = "miniBlogAuthor";
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String PAGE_PARAMETER = "page";
+
+    private static final String SIZE_PARAMETER = "size";
+
     @Value("${jhipster.clientApp.name:miniBlog}")
     private String applicationName;
 
@@ -37,9 +67,24 @@ public class AuthorResource {
 
     private final AuthorRepository authorRepository;
 
-    public AuthorResource(AuthorService authorService, AuthorRepository authorRepository) {
+    private final CardService cardService;
+
+    private final JsonMapper jsonMapper;
+
+    private final SingleFlight<Long, Optional<AuthorDTO>> authorLoads;
+
+    public AuthorResource(
+        AuthorService authorService,
+        AuthorRepository authorRepository,
+        CardService cardService,
+        JsonMapper jsonMapper,
+        MeterRegistry meterRegistry
+    ) {
         this.authorService = authorService;
         this.authorRepository = authorRepository;
+        this.cardService = cardService;
+        this.jsonMapper = jsonMapper;
+        this.authorLoads = new SingleFlight<>("author", meterRegistry);
     }
 
     /**
@@ -65,15 +110,18 @@ public class AuthorResource {
      * {@code PUT  /authors/:id} : Updates an existing author.
      *
      * @param id the id of the authorDTO to save.
+     * @param ifMatch the entity tag the client expects the author to have, if any.
      * @param authorDTO the authorDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated authorDTO,
      * or with status {@code 400 (Bad Request)} if the authorDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the author does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the authorDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<AuthorDTO> updateAuthor(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody AuthorDTO authorDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Author : {}, {}", id, authorDTO);
@@ -84,12 +132,11 @@ public class AuthorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!authorRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        checkVersion(id, ifMatch, authorDTO);
 
         authorDTO = authorService.update(authorDTO);
         return ResponseEntity.ok()
+            .eTag(toETag(authorDTO))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, authorDTO.getId().toString()))
             .body(authorDTO);
     }
@@ -98,16 +145,19 @@ public class AuthorResource {
      * {@code PATCH  /authors/:id} : Partial updates given fields of an existing author, field will ignore if it is null
      *
      * @param id the id of the authorDTO to save.
+     * @param ifMatch the entity tag the client expects the author to have, if any.
      * @param authorDTO the authorDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated authorDTO,
      * or with status {@code 400 (Bad Request)} if the authorDTO is not valid,
      * or with status {@code 404 (Not Found)} if the authorDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the author does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the authorDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<AuthorDTO> partialUpdateAuthor(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody AuthorDTO authorDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Author partially : {}, {}", id, authorDTO);
@@ -118,40 +168,145 @@ public class AuthorResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!authorRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        checkVersion(id, ifMatch, authorDTO);
 
         Optional<AuthorDTO> result = authorService.partialUpdate(authorDTO);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, authorDTO.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, authorDTO.getId().toString());
+        result.ifPresent(updatedAuthorDTO -> headers.setETag(toETag(updatedAuthorDTO)));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
-     * {@code GET  /authors} : get all the Authors.
+     * Check that the author exists and matches the {@code If-Match} header, and default the version of the authorDTO
+     * to the current one so that clients not sending it keep the last-write-wins behaviour.
+     */
+    private void checkVersion(Long id, String ifMatch, AuthorDTO authorDTO) {
+        AuthorVersion version = authorRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        if (!ETagUtil.isPreconditionMet(ifMatch, toETag(version))) {
+            throw new PreconditionFailedAlertException("The author has been modified", ENTITY_NAME, "preconditionfailed");
+        }
+        if (authorDTO.getVersion() == null) {
+            authorDTO.setVersion(version.getVersion());
+        }
+    }
+
+    /**
+     * {@code GET  /authors} : get all the Authors, or a page of them.
+     * <p>
+     * The weak entity tag of the list is computed from a single aggregate query, so that unchanged lists are answered
+     * with a {@code 304 (Not Modified)} without loading any author.
+     * <p>
+     * Without {@code page} nor {@code size} parameter, all the authors are read through a database cursor and written
+     * to the response one at a time, in the order of their ids, so the whole table is never held in memory. Otherwise
+     * the requested page is returned along with the pagination headers.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of Authors in body.
+     * @param ifNoneMatch the entity tags of the representations the client already holds, if any.
+     * @param pageable the pagination information, if a page is requested.
+     * @param request the HTTP request.
+     * @param response the HTTP response the authors are written to, with status {@code 200 (OK)},
+     * or with status {@code 304 (Not Modified)} if no author has changed.
+     * @throws IOException if the response cannot be written.
      */
-    @GetMapping("")
-    public List<AuthorDTO> getAllAuthors() {
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getAllAuthors(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
         LOG.debug("REST request to get all Authors");
-        return authorService.findAll();
+        // The list is read in the transaction of its stamp, hence from the same database, so that a concurrent change
+        // can only make the entity tag older than the body
+        authorService.readAllStamped(stamp -> {
+            String eTag = ETagUtil.toWeakETag(stamp.getTotal(), stamp.getIdSum(), stamp.getVersionSum());
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+            ObjectWriter writer = jsonMapper.writerFor(AuthorDTO.class);
+            if (request.getParameter(PAGE_PARAMETER) == null && request.getParameter(SIZE_PARAMETER) == null) {
+                JsonStreamUtil.writeArray(response, writer, authorService::streamAll);
+                return;
+            }
+            Page<AuthorDTO> page = authorService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            JsonStreamUtil.writeArray(response, writer, page.getContent()::forEach);
+        });
     }
 
     /**
      * {@code GET  /authors/:id} : get the "id" author.
      *
+     * <p>
+     * When the {@code If-None-Match} header holds the current entity tag, only the version of the author is read
+     * and the response is a {@code 304 (Not Modified)} without body.
+     *
      * @param id the id of the authorDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the authorDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the authorDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if the author has not changed.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AuthorDTO> getAuthor(@PathVariable("id") Long id) {
+    public ResponseEntity<AuthorDTO> getAuthor(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Author : {}", id);
-        Optional<AuthorDTO> authorDTO = authorService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(authorDTO);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = authorRepository.findVersionById(id).map(AuthorResource::toETag);
+            if (eTag.isPresent() && ETagUtil.isNotModified(ifNoneMatch, eTag.get())) {
+                return ETagUtil.notModified(eTag.get());
+            }
+        }
+        Optional<AuthorDTO> authorDTO = authorLoads.load(id, () -> authorService.findOne(id));
+        HttpHeaders headers = new HttpHeaders();
+        authorDTO.ifPresent(dto -> headers.setETag(toETag(dto)));
+        return ResponseUtil.wrapOrNotFound(authorDTO, headers);
+    }
+
+    /**
+     * {@code GET  /authors/:id/cards} : get a window of the cards of the "id" author.
+     * <p>
+     * Cards are read by keyset pagination on {@code (author_id, id)}, never through the cards collection of the
+     * author, and the {@code X-Total-Count} header is the card count kept on the author.
+     *
+     * @param id the id of the author.
+     * @param pageable the size and the sort of the window, by id only.
+     * @param after the cursor returned in the {@code next} link of the previous window, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of cards in body,
+     * or with status {@code 400 (Bad Request)} if the sort or the cursor is not valid,
+     * or with status {@code 404 (Not Found)} if the author does not exist.
+     */
+    @GetMapping("/{id}/cards")
+    public ResponseEntity<List<CardDTO>> getAuthorCards(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
+        LOG.debug("REST request to get a window of Cards of Author {} after : {}", id, after);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        if (sort.stream().anyMatch(order -> !"id".equals(order.getProperty()))) {
+            throw new BadRequestAlertException("Cards of a author can only be sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        ScrollPosition position;
+        try {
+            position = KeysetPaginationUtil.positionAfter(after, sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Optional<AuthorDTO> authorDTO = authorLoads.load(id, () -> authorService.findOne(id));
+        if (authorDTO.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Window<CardDTO> window = cardService.findAllByAuthorAfter(id, position, sort, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        headers.add(TOTAL_COUNT_HEADER, authorDTO.get().getCardCount().toString());
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
     }
 
     /**
@@ -168,4 +323,15 @@ public class AuthorResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The card count is part of the representation but does not increment the version, so it is part of the entity tag.
+     */
+    private static String toETag(AuthorVersion version) {
+        return ETagUtil.toETag(version.getVersion(), version.getCardCount());
+    }
+
+    private static String toETag(AuthorDTO authorDTO) {
+        return ETagUtil.toETag(authorDTO.getVersion(), authorDTO.getCardCount());
+    }
 }
@@ -0,0 +1,49 @@
+package me.tisana.miniblog.web.rest;
+
+import java.util.List;
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.service.dto.CardFacetsDTO;
+import me.tisana.miniblog.service.facet.CardFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for counting {@link me.tisana.miniblog.domain.Card}s by status, category and author.
+ */
+@RestController
+@RequestMapping("/api/cards/facets")
+public class CardFacetResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardFacetResource.class);
+
+    private final CardFacetService cardFacetService;
+
+    public CardFacetResource(CardFacetService cardFacetService) {
+        this.cardFacetService = cardFacetService;
+    }
+
+    /**
+     * {@code GET  /cards/facets} : count the cards, and the cards of each status, category and author.
+     * <p>
+     * Each parameter may be repeated or hold comma-separated values, to count the cards having any of them. The counts
+     * of each facet apply the filters of the other facets but not its own, e.g. {@code ?status=PUBLISH&categoryId=1}
+     * counts the published cards of each author in category 1, the cards of each status in category 1, and the
+     * published cards of each category.
+     *
+     * @param statuses the statuses of the cards to count, all if none.
+     * @param categoryIds the ids of the categories of the cards to count, all if none.
+     * @param authorIds the ids of the authors of the cards to count, all if none.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the counts in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<CardFacetsDTO> getCardFacets(
+        @RequestParam(name = "status", required = false, defaultValue = "") List<Status> statuses,
+        @RequestParam(name = "categoryId", required = false, defaultValue = "") List<Long> categoryIds,
+        @RequestParam(name = "authorId", required = false, defaultValue = "") List<Long> authorIds
+    ) {
+        LOG.debug("REST request to count Cards by facets");
+        return ResponseEntity.ok(cardFacetService.count(statuses, categoryIds, authorIds));
+    }
+}
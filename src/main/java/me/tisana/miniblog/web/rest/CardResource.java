@@ -1,28 +1,59 @@
 package me.tisana.miniblog.web.rest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
 import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CardRepository.CardVersion;
+import me.tisana.miniblog.service.CardQueryService;
+import me.tisana.miniblog.service.CardResponseCache;
+import me.tisana.miniblog.service.CardResponseCache.CardResponse;
 import me.tisana.miniblog.service.CardService;
+import me.tisana.miniblog.service.SingleFlight;
+import me.tisana.miniblog.service.criteria.CardCriteria;
+import me.tisana.miniblog.service.dto.BatchItemResultDTO;
 import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CardSummaryDTO;
 import me.tisana.miniblog.web.rest.errors.BadRequestAlertException;
+import me.tisana.miniblog.web.rest.errors.PreconditionFailedAlertException;
+import me.tisana.miniblog.web.rest.util.ETagUtil;
+import me.tisana.miniblog.web.rest.util.KeysetPaginationUtil;
+import me.tisana.miniblog.web.rest.util.SlicePaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * REST controller for managing {@link me.tisana.miniblog.domain.Card}.
@@ -35,6 +66,18 @@ public class CardResource {
 
     private static final String ENTITY_NAME = "miniBlogCard";
 
+    private static final Set<String> KEYSET_SORT_PROPERTIES = Set.of("id", "name");
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final String COUNT_EXACT = "true";
+
+    private static final String COUNT_NONE = "false";
+
+    private static final String COUNT_ESTIMATE = "estimate";
+
+    private static final Pattern NO_QUALITY = Pattern.compile("q\\s*=\\s*0(\\.0{0,3})?");
+
     @Value("${jhipster.clientApp.name:miniBlog}")
     private String applicationName;
 
@@ -42,9 +85,28 @@ public class CardResource {
 
     private final CardRepository cardRepository;
 
-    public CardResource(CardService cardService, CardRepository cardRepository) {
+    private final CardQueryService cardQueryService;
+
+    private final JsonMapper jsonMapper;
+
+    private final CardResponseCache cardResponseCache;
+
+    private final SingleFlight<Long, Optional<CardResponse>> cardLoads;
+
+    public CardResource(
+        CardService cardService,
+        CardRepository cardRepository,
+        CardQueryService cardQueryService,
+        CardResponseCache cardResponseCache,
+        JsonMapper jsonMapper,
+        MeterRegistry meterRegistry
+    ) {
         this.cardService = cardService;
         this.cardRepository = cardRepository;
+        this.cardQueryService = cardQueryService;
+        this.cardResponseCache = cardResponseCache;
+        this.jsonMapper = jsonMapper;
+        this.cardLoads = new SingleFlight<>("card", meterRegistry);
     }
 
     /**
@@ -66,19 +128,72 @@ public class CardResource {
             .body(cardDTO);
     }
 
+    /**
+     * {@code POST  /cards/batch} : Create a batch of new cards in a single transaction.
+     *
+     * @param cardDTOs the cardDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each card, in request order,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> createCards(@NotNull @RequestBody List<CardDTO> cardDTOs) {
+        LOG.debug("REST request to save a batch of {} Cards", cardDTOs.size());
+        checkBatchSize(cardDTOs.size());
+        return ResponseEntity.ok(cardService.saveAll(cardDTOs));
+    }
+
+    /**
+     * {@code PUT  /cards/batch} : Updates a batch of existing cards in a single transaction.
+     *
+     * @param cardDTOs the cardDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each card, in request order,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> updateCards(@NotNull @RequestBody List<CardDTO> cardDTOs) {
+        LOG.debug("REST request to update a batch of {} Cards", cardDTOs.size());
+        checkBatchSize(cardDTOs.size());
+        return ResponseEntity.ok(cardService.updateAll(cardDTOs));
+    }
+
+    /**
+     * {@code POST  /cards/_mget} : get the cards of a list of ids in a single request.
+     *
+     * @param ids the ids of the cards to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cards in the order of the ids, ids without
+     * card being left out, or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @PostMapping("/_mget")
+    public ResponseEntity<List<CardDTO>> getCardsByIds(@NotNull @RequestBody long[] ids) {
+        LOG.debug("REST request to get {} Cards by id", ids.length);
+        checkBatchSize(ids.length);
+        return ResponseEntity.ok(cardService.findAllByIds(ids));
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("A batch cannot hold more than " + MAX_BATCH_SIZE + " cards", ENTITY_NAME, "batchtoolarge");
+        }
+    }
+
     /**
      * {@code PUT  /cards/:id} : Updates an existing card.
      *
      * @param id the id of the cardDTO to save.
+     * @param ifMatch the entity tag the client expects the card to have, if any.
      * @param cardDTO the cardDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cardDTO,
      * or with status {@code 400 (Bad Request)} if the cardDTO is not valid,
+     * or with status {@code 404 (Not Found)} if the card does not exist,
+     * or with status {@code 409 (Conflict)} if the card has been changed since the version of the cardDTO,
+     * or with status {@code 412 (Precondition Failed)} if the card does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the cardDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<CardDTO> updateCard(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody CardDTO cardDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Card : {}, {}", id, cardDTO);
@@ -89,30 +204,31 @@ public class CardResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!cardRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<CardDTO> result = cardService.update(cardDTO, current -> checkPrecondition(ifMatch, current));
 
-        cardDTO = cardService.update(cardDTO);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cardDTO.getId().toString()))
-            .body(cardDTO);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cardDTO.getId().toString());
+        result.ifPresent(updatedCardDTO -> headers.setETag(toETag(updatedCardDTO)));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
      * {@code PATCH  /cards/:id} : Partial updates given fields of an existing card, field will ignore if it is null
      *
      * @param id the id of the cardDTO to save.
+     * @param ifMatch the entity tag the client expects the card to have, if any.
      * @param cardDTO the cardDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated cardDTO,
      * or with status {@code 400 (Bad Request)} if the cardDTO is not valid,
      * or with status {@code 404 (Not Found)} if the cardDTO is not found,
+     * or with status {@code 409 (Conflict)} if the card has been changed since the version of the cardDTO,
+     * or with status {@code 412 (Precondition Failed)} if the card does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the cardDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<CardDTO> partialUpdateCard(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody CardDTO cardDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Card partially : {}, {}", id, cardDTO);
@@ -123,30 +239,65 @@ public class CardResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!cardRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Optional<CardDTO> result = cardService.partialUpdate(cardDTO, current -> checkPrecondition(ifMatch, current));
 
-        Optional<CardDTO> result = cardService.partialUpdate(cardDTO);
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cardDTO.getId().toString());
+        result.ifPresent(updatedCardDTO -> headers.setETag(toETag(updatedCardDTO)));
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, cardDTO.getId().toString())
-        );
+    /**
+     * Check that the current card, read by the update itself, matches the {@code If-Match} header.
+     */
+    private static void checkPrecondition(String ifMatch, CardDTO current) {
+        if (!ETagUtil.isPreconditionMet(ifMatch, toETag(current))) {
+            throw new PreconditionFailedAlertException("The card has been modified", ENTITY_NAME, "preconditionfailed");
+        }
     }
 
     /**
      * {@code GET  /cards} : get all the Cards.
+     * <p>
+     * When {@code keyset} is set, or an {@code after} cursor is given, cards are scrolled with keyset pagination:
+     * the {@code page} parameter is ignored, no total count is computed, and the {@code Link} header holds the
+     * cursor of the next window. Keyset pagination can only be sorted by {@code id} and {@code name}.
+     * <p>
+     * Otherwise the {@code count} parameter tells how the total is computed: {@code true} (the default) counts all
+     * the cards, {@code false} reads one extra card to know whether a next page exists and leaves out the
+     * {@code X-Total-Count} header, and {@code estimate} reports a total estimated from the database statistics.
+     * <p>
+     * Cards can be filtered with criteria such as {@code status.equals}, {@code categoryId.in}, {@code authorId.equals}
+     * or {@code name.contains}, in every pagination mode. Filtered cards always have their relationships loaded, and
+     * their {@code estimate} total is the exact number of matching cards, as the statistics only cover the whole table.
      *
+     * @param criteria the criteria which the requested entities should match.
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of Cards in body.
+     * @param keyset flag to use keyset pagination for the first window.
+     * @param after the cursor of the last card of the previous window, for keyset pagination.
+     * @param count how the total number of cards is computed: {@code true}, {@code false} or {@code estimate}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of Cards in body,
+     * or with status {@code 400 (Bad Request)} if the cursor or the sort is not valid for keyset pagination,
+     * or if the count mode is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<CardDTO>> getAllCards(
+        CardCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload,
+        @RequestParam(name = "keyset", required = false, defaultValue = "false") boolean keyset,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+        @RequestParam(name = "count", required = false, defaultValue = COUNT_EXACT) String count
     ) {
+        if (keyset || after != null) {
+            return getCardsAfter(criteria, pageable, after);
+        }
+        if (criteria.hasFilters()) {
+            return getCardsByCriteria(criteria, pageable, count);
+        }
+        if (!COUNT_EXACT.equals(count)) {
+            return getCardsWithoutCount(pageable, count, cardService::findSlice, cardService::estimateCount);
+        }
         LOG.debug("REST request to get a page of Cards");
         Page<CardDTO> page;
         if (eagerload) {
@@ -158,17 +309,162 @@ public class CardResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    private ResponseEntity<List<CardDTO>> getCardsByCriteria(CardCriteria criteria, Pageable pageable, String count) {
+        if (!COUNT_EXACT.equals(count)) {
+            return getCardsWithoutCount(
+                pageable,
+                count,
+                page -> cardQueryService.findSliceByCriteria(criteria, page),
+                () -> cardQueryService.countByCriteria(criteria)
+            );
+        }
+        LOG.debug("REST request to get a page of Cards by criteria : {}", criteria);
+        Page<CardDTO> page = cardQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private <T> ResponseEntity<List<T>> getCardsWithoutCount(
+        Pageable pageable,
+        String count,
+        Function<Pageable, Slice<T>> sliceQuery,
+        LongSupplier estimateCount
+    ) {
+        LOG.debug("REST request to get a slice of Cards, count : {}", count);
+        if (!COUNT_NONE.equals(count) && !COUNT_ESTIMATE.equals(count)) {
+            throw new BadRequestAlertException("Invalid count mode", ENTITY_NAME, "countinvalid");
+        }
+        Slice<T> slice = sliceQuery.apply(pageable);
+        if (COUNT_NONE.equals(count)) {
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
+        Page<T> page = SlicePaginationUtil.toEstimatedPage(slice, estimateCount.getAsLong());
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        headers.add(SlicePaginationUtil.TOTAL_COUNT_APPROXIMATE_HEADER, Boolean.TRUE.toString());
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    private ResponseEntity<List<CardDTO>> getCardsAfter(CardCriteria criteria, Pageable pageable, String after) {
+        LOG.debug("REST request to get a window of Cards after : {}", after);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        if (!sort.stream().allMatch(order -> KEYSET_SORT_PROPERTIES.contains(order.getProperty()))) {
+            throw new BadRequestAlertException("Keyset pagination can only be sorted by id and name", ENTITY_NAME, "sortinvalid");
+        }
+        if (sort.getOrderFor("id") == null) {
+            // Tie-break in the same direction so that the (name, id) index can be scanned in either direction
+            Sort.Direction direction = sort.stream().reduce((first, second) -> second).orElseThrow().getDirection();
+            sort = sort.and(Sort.by(direction, "id"));
+        }
+        ScrollPosition position;
+        try {
+            position = KeysetPaginationUtil.positionAfter(after, sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Window<CardDTO> window = criteria.hasFilters()
+            ? cardQueryService.findAfterByCriteria(criteria, position, sort, pageable.getPageSize())
+            : cardService.findAllAfter(position, sort, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /cards/count} : count all the cards.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countCards(CardCriteria criteria) {
+        LOG.debug("REST request to count Cards by criteria: {}", criteria);
+        return ResponseEntity.ok().body(cardQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /cards/summaries} : get a page of card summaries, for list views.
+     * <p>
+     * Summaries hold the same fields as cards, except the content, and are read without loading any entity.
+     * The {@code count} parameter works as for {@code GET /cards}.
+     *
+     * @param pageable the pagination information.
+     * @param count how the total number of cards is computed: {@code true}, {@code false} or {@code estimate}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of card summaries in body,
+     * or with status {@code 400 (Bad Request)} if the count mode is not valid.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<CardSummaryDTO>> getAllCardSummaries(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "count", required = false, defaultValue = COUNT_EXACT) String count
+    ) {
+        if (!COUNT_EXACT.equals(count)) {
+            return getCardsWithoutCount(pageable, count, cardService::findSliceOfSummaries, cardService::estimateCount);
+        }
+        LOG.debug("REST request to get a page of Card summaries");
+        Page<CardSummaryDTO> page = cardService.findAllSummaries(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /cards/export} : export all the Cards as newline-delimited JSON.
+     * <p>
+     * Cards are read through a database cursor and written to the response one line at a time,
+     * so the whole table is never held in memory.
+     *
+     * @param response the HTTP response the cards are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportCards(HttpServletResponse response) throws IOException {
+        LOG.debug("REST request to export all Cards");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = jsonMapper.writerFor(CardDTO.class).withRootValueSeparator("");
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            cardService.exportAll(cardDTO -> {
+                writer.writeValue(generator, cardDTO);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
     /**
      * {@code GET  /cards/:id} : get the "id" card.
      *
+     * <p>
+     * The card is written from its serialized JSON kept by the {@link CardResponseCache}, compressed with gzip when
+     * the client accepts it and the card is large enough. When the {@code If-None-Match} header holds the current
+     * entity tag, the response is a {@code 304 (Not Modified)} without body, only the versions of the card being read
+     * if it is not cached.
+     *
      * @param id the id of the cardDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cardDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already holds, if any.
+     * @param acceptEncoding the content codings accepted by the client, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cardDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if the card has not changed.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<CardDTO> getCard(@PathVariable("id") Long id) {
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCard(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
         LOG.debug("REST request to get Card : {}", id);
-        Optional<CardDTO> cardDTO = cardService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(cardDTO);
+        Optional<CardResponse> response = cardResponseCache.get(id);
+        if (response.isEmpty()) {
+            if (ifNoneMatch != null) {
+                Optional<String> eTag = cardRepository.findVersionById(id).map(CardResource::toETag);
+                if (eTag.isPresent() && ETagUtil.isNotModified(ifNoneMatch, eTag.get())) {
+                    return ETagUtil.notModified(eTag.get());
+                }
+            }
+            // Outside of any transaction, so that requests waiting for the same card do not hold a connection
+            response = cardLoads.load(id, () -> cardResponseCache.load(id, cardService::findOneFromPrimary));
+        }
+        return response
+            .map(cardResponse -> toResponseEntity(cardResponse, ifNoneMatch, acceptEncoding))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -185,4 +481,46 @@ public class CardResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private static ResponseEntity<byte[]> toResponseEntity(CardResponse cardResponse, String ifNoneMatch, String acceptEncoding) {
+        String eTag = ETagUtil.toETag(cardResponse.version(), cardResponse.authorVersion(), cardResponse.categoryVersion());
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON);
+        if (cardResponse.gzip() == null) {
+            return builder.contentLength(cardResponse.json().length).body(cardResponse.json());
+        }
+        // The entity tag stands for the versions of the card rather than for its bytes, so both codings share it
+        builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            return builder.contentLength(cardResponse.json().length).body(cardResponse.json());
+        }
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").contentLength(cardResponse.gzip().length).body(cardResponse.gzip());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if ("gzip".equalsIgnoreCase(parameters[0].trim())) {
+                return Arrays.stream(parameters).skip(1).noneMatch(parameter -> NO_QUALITY.matcher(parameter.trim()).matches());
+            }
+        }
+        return false;
+    }
+
+    private static String toETag(CardVersion version) {
+        return ETagUtil.toETag(version.getVersion(), version.getAuthorVersion(), version.getCategoryVersion());
+    }
+
+    private static String toETag(CardDTO cardDTO) {
+        return ETagUtil.toETag(
+            cardDTO.getVersion(),
+            cardDTO.getAuthor() != null ? cardDTO.getAuthor().getVersion() : null,
+            cardDTO.getCategory() != null ? cardDTO.getCategory().getVersion() : null
+        );
+    }
 }
@@ -0,0 +1,59 @@
+package me.tisana.miniblog.web.rest;
+
+import java.util.List;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.search.CardSearchService;
+import me.tisana.miniblog.web.rest.errors.BadRequestAlertException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for searching {@link me.tisana.miniblog.domain.Card}s.
+ */
+@RestController
+@RequestMapping("/api/_search/cards")
+public class CardSearchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CardSearchResource.class);
+
+    private static final String ENTITY_NAME = "miniBlogCard";
+
+    private final CardSearchService cardSearchService;
+
+    public CardSearchResource(CardSearchService cardSearchService) {
+        this.cardSearchService = cardSearchService;
+    }
+
+    /**
+     * {@code GET  /_search/cards?q=:query} : search for the cards matching the query, best matches first.
+     *
+     * @param query the query of the card search.
+     * @param pageable the pagination information, any sort is ignored as results are ranked by relevance.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching Cards in body,
+     * or with status {@code 400 (Bad Request)} if the page is beyond the {@link CardSearchService#MAX_RESULT_WINDOW} best matches.
+     */
+    @GetMapping("")
+    public ResponseEntity<List<CardDTO>> searchCards(
+        @RequestParam("q") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Cards for query {}", query);
+        if (!CardSearchService.isWithinResultWindow(pageable)) {
+            throw new BadRequestAlertException(
+                "Search results are limited to the " + CardSearchService.MAX_RESULT_WINDOW + " best matches",
+                ENTITY_NAME,
+                "resultwindowexceeded"
+            );
+        }
+        Page<CardDTO> page = cardSearchService.search(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
@@ -1,23 +1,47 @@
 package me.tisana.miniblog.web.rest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import me.tisana.miniblog.repository.CategoryRepository;
+import me.tisana.miniblog.repository.CategoryRepository.CategoryVersion;
+import me.tisana.miniblog.service.CardService;
 import me.tisana.miniblog.service.CategoryService;
+import me.tisana.miniblog.service.SingleFlight;
+import me.tisana.miniblog.service.dto.CardDTO;
 import me.tisana.miniblog.service.dto.CategoryDTO;
 import me.tisana.miniblog.web.rest.errors.BadRequestAlertException;
+import me.tisana.miniblog.web.rest.errors.PreconditionFailedAlertException;
+import me.tisana.miniblog.web.rest.util.ETagUtil;
+import me.tisana.miniblog.web.rest.util.JsonStreamUtil;
+import me.tisana.miniblog.web.rest.util.KeysetPaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * REST controller for managing {@link me.tisana.miniblog.domain.Category}.
@@ -30,6 +54,12 @@ public class CategoryResource {
 
     private static final String ENTITY_NAME = "miniBlogCategory";
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String PAGE_PARAMETER = "page";
+
+    private static final String SIZE_PARAMETER = "size";
+
     @Value("${jhipster.clientApp.name:miniBlog}")
     private String applicationName;
 
@@ -37,9 +67,24 @@ public class CategoryResource {
 
     private final CategoryRepository categoryRepository;
 
-    public CategoryResource(CategoryService categoryService, CategoryRepository categoryRepository) {
+    private final CardService cardService;
+
+    private final JsonMapper jsonMapper;
+
+    private final SingleFlight<Long, Optional<CategoryDTO>> categoryLoads;
+
+    public CategoryResource(
+        CategoryService categoryService,
+        CategoryRepository categoryRepository,
+        CardService cardService,
+        JsonMapper jsonMapper,
+        MeterRegistry meterRegistry
+    ) {
         this.categoryService = categoryService;
         this.categoryRepository = categoryRepository;
+        this.cardService = cardService;
+        this.jsonMapper = jsonMapper;
+        this.categoryLoads = new SingleFlight<>("category", meterRegistry);
     }
 
     /**
@@ -65,15 +110,18 @@ public class CategoryResource {
      * {@code PUT  /categories/:id} : Updates an existing category.
      *
      * @param id the id of the categoryDTO to save.
+     * @param ifMatch the entity tag the client expects the category to have, if any.
      * @param categoryDTO the categoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated categoryDTO,
      * or with status {@code 400 (Bad Request)} if the categoryDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the category does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the categoryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<CategoryDTO> updateCategory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody CategoryDTO categoryDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Category : {}, {}", id, categoryDTO);
@@ -84,12 +132,11 @@ public class CategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!categoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        checkVersion(id, ifMatch, categoryDTO);
 
         categoryDTO = categoryService.update(categoryDTO);
         return ResponseEntity.ok()
+            .eTag(toETag(categoryDTO))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, categoryDTO.getId().toString()))
             .body(categoryDTO);
     }
@@ -98,16 +145,19 @@ public class CategoryResource {
      * {@code PATCH  /categories/:id} : Partial updates given fields of an existing category, field will ignore if it is null
      *
      * @param id the id of the categoryDTO to save.
+     * @param ifMatch the entity tag the client expects the category to have, if any.
      * @param categoryDTO the categoryDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated categoryDTO,
      * or with status {@code 400 (Bad Request)} if the categoryDTO is not valid,
      * or with status {@code 404 (Not Found)} if the categoryDTO is not found,
+     * or with status {@code 412 (Precondition Failed)} if the category does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the categoryDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<CategoryDTO> partialUpdateCategory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody CategoryDTO categoryDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Category partially : {}, {}", id, categoryDTO);
@@ -118,40 +168,145 @@ public class CategoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!categoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        checkVersion(id, ifMatch, categoryDTO);
 
         Optional<CategoryDTO> result = categoryService.partialUpdate(categoryDTO);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, categoryDTO.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, categoryDTO.getId().toString());
+        result.ifPresent(updatedCategoryDTO -> headers.setETag(toETag(updatedCategoryDTO)));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
-     * {@code GET  /categories} : get all the Categories.
+     * Check that the category exists and matches the {@code If-Match} header, and default the version of the categoryDTO
+     * to the current one so that clients not sending it keep the last-write-wins behaviour.
+     */
+    private void checkVersion(Long id, String ifMatch, CategoryDTO categoryDTO) {
+        CategoryVersion version = categoryRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        if (!ETagUtil.isPreconditionMet(ifMatch, toETag(version))) {
+            throw new PreconditionFailedAlertException("The category has been modified", ENTITY_NAME, "preconditionfailed");
+        }
+        if (categoryDTO.getVersion() == null) {
+            categoryDTO.setVersion(version.getVersion());
+        }
+    }
+
+    /**
+     * {@code GET  /categories} : get all the Categories, or a page of them.
+     * <p>
+     * The weak entity tag of the list is computed from a single aggregate query, so that unchanged lists are answered
+     * with a {@code 304 (Not Modified)} without loading any category.
+     * <p>
+     * Without {@code page} nor {@code size} parameter, all the categories are read through a database cursor and written
+     * to the response one at a time, in the order of their ids, so the whole table is never held in memory. Otherwise
+     * the requested page is returned along with the pagination headers.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of Categories in body.
+     * @param ifNoneMatch the entity tags of the representations the client already holds, if any.
+     * @param pageable the pagination information, if a page is requested.
+     * @param request the HTTP request.
+     * @param response the HTTP response the categories are written to, with status {@code 200 (OK)},
+     * or with status {@code 304 (Not Modified)} if no category has changed.
+     * @throws IOException if the response cannot be written.
      */
-    @GetMapping("")
-    public List<CategoryDTO> getAllCategories() {
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getAllCategories(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
         LOG.debug("REST request to get all Categories");
-        return categoryService.findAll();
+        // The list is read in the transaction of its stamp, hence from the same database, so that a concurrent change
+        // can only make the entity tag older than the body
+        categoryService.readAllStamped(stamp -> {
+            String eTag = ETagUtil.toWeakETag(stamp.getTotal(), stamp.getIdSum(), stamp.getVersionSum());
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+            ObjectWriter writer = jsonMapper.writerFor(CategoryDTO.class);
+            if (request.getParameter(PAGE_PARAMETER) == null && request.getParameter(SIZE_PARAMETER) == null) {
+                JsonStreamUtil.writeArray(response, writer, categoryService::streamAll);
+                return;
+            }
+            Page<CategoryDTO> page = categoryService.findAll(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+            JsonStreamUtil.writeArray(response, writer, page.getContent()::forEach);
+        });
     }
 
     /**
      * {@code GET  /categories/:id} : get the "id" category.
      *
+     * <p>
+     * When the {@code If-None-Match} header holds the current entity tag, only the version of the category is read
+     * and the response is a {@code 304 (Not Modified)} without body.
+     *
      * @param id the id of the categoryDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the categoryDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the entity tags of the representations the client already holds, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the categoryDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 304 (Not Modified)} if the category has not changed.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategory(@PathVariable("id") Long id) {
+    public ResponseEntity<CategoryDTO> getCategory(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         LOG.debug("REST request to get Category : {}", id);
-        Optional<CategoryDTO> categoryDTO = categoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(categoryDTO);
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = categoryRepository.findVersionById(id).map(CategoryResource::toETag);
+            if (eTag.isPresent() && ETagUtil.isNotModified(ifNoneMatch, eTag.get())) {
+                return ETagUtil.notModified(eTag.get());
+            }
+        }
+        Optional<CategoryDTO> categoryDTO = categoryLoads.load(id, () -> categoryService.findOne(id));
+        HttpHeaders headers = new HttpHeaders();
+        categoryDTO.ifPresent(dto -> headers.setETag(toETag(dto)));
+        return ResponseUtil.wrapOrNotFound(categoryDTO, headers);
+    }
+
+    /**
+     * {@code GET  /categories/:id/cards} : get a window of the cards of the "id" category.
+     * <p>
+     * Cards are read by keyset pagination on {@code (category_id, id)}, never through the cards collection of the
+     * category, and the {@code X-Total-Count} header is the card count kept on the category.
+     *
+     * @param id the id of the category.
+     * @param pageable the size and the sort of the window, by id only.
+     * @param after the cursor returned in the {@code next} link of the previous window, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of cards in body,
+     * or with status {@code 400 (Bad Request)} if the sort or the cursor is not valid,
+     * or with status {@code 404 (Not Found)} if the category does not exist.
+     */
+    @GetMapping("/{id}/cards")
+    public ResponseEntity<List<CardDTO>> getCategoryCards(
+        @PathVariable("id") Long id,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after
+    ) {
+        LOG.debug("REST request to get a window of Cards of Category {} after : {}", id, after);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        if (sort.stream().anyMatch(order -> !"id".equals(order.getProperty()))) {
+            throw new BadRequestAlertException("Cards of a category can only be sorted by id", ENTITY_NAME, "sortinvalid");
+        }
+        ScrollPosition position;
+        try {
+            position = KeysetPaginationUtil.positionAfter(after, sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        Optional<CategoryDTO> categoryDTO = categoryLoads.load(id, () -> categoryService.findOne(id));
+        if (categoryDTO.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Window<CardDTO> window = cardService.findAllByCategoryAfter(id, position, sort, pageable.getPageSize());
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        headers.add(TOTAL_COUNT_HEADER, categoryDTO.get().getCardCount().toString());
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
     }
 
     /**
@@ -168,4 +323,15 @@ public class CategoryResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * The card count is part of the representation but does not increment the version, so it is part of the entity tag.
+     */
+    private static String toETag(CategoryVersion version) {
+        return ETagUtil.toETag(version.getVersion(), version.getCardCount());
+    }
+
+    private static String toETag(CategoryDTO categoryDTO) {
+        return ETagUtil.toETag(categoryDTO.getVersion(), categoryDTO.getCardCount());
+    }
 }
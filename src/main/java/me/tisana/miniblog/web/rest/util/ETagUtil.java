@@ -0,0 +1,79 @@
+package me.tisana.miniblog.web.rest.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for handling entity tags and the conditional request headers.
+ * <p>
+ * Entity tags are built from the version columns a representation depends on, so they can be checked with a cheap
+ * query before the entity is loaded, mapped or serialized. They are strong validators when the versions identify the
+ * representation, and weak ones when they only summarize it, as for lists.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {}
+
+    /**
+     * Build a strong entity tag from the versions a representation depends on.
+     *
+     * @param versions the versions, {@code null} standing for a missing relationship.
+     * @return the quoted entity tag.
+     */
+    public static String toETag(Number... versions) {
+        return Arrays.stream(versions).map(version -> Objects.toString(version, "0")).collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    /**
+     * Build a weak entity tag from values summarizing a representation, which could collide for different
+     * representations, and so cannot be used for {@code If-Match} preconditions.
+     *
+     * @param values the values, {@code null} standing for a missing value.
+     * @return the weak entity tag.
+     */
+    public static String toWeakETag(Number... values) {
+        return "W/" + toETag(values);
+    }
+
+    /**
+     * Evaluate an {@code If-None-Match} header, using the weak comparison.
+     *
+     * @param ifNoneMatch the value of the header, can be {@code null}.
+     * @param eTag the current entity tag of the resource.
+     * @return {@code true} if the client already holds the current representation.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && matches(ifNoneMatch, eTag, false);
+    }
+
+    /**
+     * Evaluate an {@code If-Match} header, using the strong comparison.
+     *
+     * @param ifMatch the value of the header, can be {@code null}.
+     * @param eTag the current entity tag of the resource.
+     * @return {@code true} if there is no precondition, or if the client holds the current representation.
+     */
+    public static boolean isPreconditionMet(String ifMatch, String eTag) {
+        return ifMatch == null || matches(ifMatch, eTag, true);
+    }
+
+    /**
+     * Build a {@code 304 (Not Modified)} response.
+     *
+     * @param eTag the current entity tag of the resource.
+     * @param <T> the type of the response body.
+     * @return the response entity, without body.
+     */
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private static boolean matches(String header, String eTag, boolean strong) {
+        ETag current = ETag.create(eTag);
+        return ETag.parse(header).stream().anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, strong));
+    }
+}
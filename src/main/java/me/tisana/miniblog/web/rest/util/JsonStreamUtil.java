@@ -0,0 +1,42 @@
+package me.tisana.miniblog.web.rest.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.Consumer;
+import org.springframework.http.MediaType;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+/**
+ * Utility class for writing large JSON responses element by element.
+ * <p>
+ * Elements are serialized to the response as they are produced, e.g. while a database cursor is read, so the list is
+ * never held in memory and its first bytes are sent before its last element is read.
+ */
+public final class JsonStreamUtil {
+
+    private JsonStreamUtil() {}
+
+    /**
+     * Write a JSON array to the response.
+     *
+     * @param response the HTTP response the array is written to.
+     * @param writer the writer of the elements.
+     * @param producer called with the consumer writing each element, in order.
+     * @param <T> the type of the elements.
+     * @throws IOException if the response cannot be written.
+     */
+    public static <T> void writeArray(HttpServletResponse response, ObjectWriter writer, Consumer<Consumer<T>> producer)
+        throws IOException {
+        // JSON is UTF-8, the encoding of the generator, without charset parameter
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        // Elements go out whenever the output buffer is full, rather than being flushed one by one
+        ObjectWriter elementWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = elementWriter.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            producer.accept(element -> elementWriter.writeValue(generator, element));
+            generator.writeEndArray();
+        }
+    }
+}
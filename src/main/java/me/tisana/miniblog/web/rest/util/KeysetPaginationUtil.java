@@ -0,0 +1,132 @@
+package me.tisana.miniblog.web.rest.util;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * The cursor handed out to clients is an opaque, URL-safe token that encodes the sort keys of the last
+ * element of a window. Clients pass it back as the {@code after} request parameter to get the next window.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private static final char LONG_TAG = 'L';
+
+    private static final char STRING_TAG = 'S';
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the {@code Link} header for a window, with a {@code next} link when more elements are available.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the window of elements returned to the client.
+     * @param <T> the type of the elements.
+     * @return the HTTP headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        StringJoiner link = new StringJoiner(",");
+        if (window.hasNext() && !window.isEmpty()) {
+            String cursor = encodeCursor(window.positionAt(window.size() - 1));
+            link.add(String.format(HEADER_LINK_FORMAT, uriBuilder.replaceQueryParam(AFTER_PARAMETER, cursor).toUriString(), "next"));
+        }
+        link.add(String.format(HEADER_LINK_FORMAT, uriBuilder.replaceQueryParam(AFTER_PARAMETER, "").toUriString(), "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Encode a keyset position into an opaque cursor.
+     *
+     * @param position the keyset position.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the position is not a keyset position, or holds unsupported key types.
+     */
+    public static String encodeCursor(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded as a cursor");
+        }
+        StringJoiner joiner = new StringJoiner("&");
+        keysetPosition
+            .getKeys()
+            .forEach((key, value) -> joiner.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "=" + encodeValue(value)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into a forward keyset position.
+     *
+     * @param cursor the cursor previously returned by {@link #encodeCursor(ScrollPosition)}.
+     * @param expectedKeys the keys the cursor must hold, i.e. the sort properties of the current request.
+     * @return the keyset position.
+     * @throws IllegalArgumentException if the cursor is malformed or does not match the expected keys.
+     */
+    public static KeysetScrollPosition decodeCursor(String cursor, Collection<String> expectedKeys) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String entry : decoded.split("&")) {
+            int separator = entry.indexOf('=');
+            if (separator < 1 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor entry: " + entry);
+            }
+            String key = URLDecoder.decode(entry.substring(0, separator), StandardCharsets.UTF_8);
+            keys.put(key, decodeValue(entry.substring(separator + 1)));
+        }
+        if (keys.size() != expectedKeys.size() || !keys.keySet().containsAll(expectedKeys)) {
+            throw new IllegalArgumentException("Cursor keys " + keys.keySet() + " do not match the sort " + expectedKeys);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Get the position of the {@code after} request parameter.
+     *
+     * @param after the cursor of the request, {@code null} or empty for the first window.
+     * @param sort the sort of the request, whose properties the cursor must hold.
+     * @return the keyset position.
+     * @throws IllegalArgumentException if the cursor is malformed or does not match the sort.
+     */
+    public static ScrollPosition positionAfter(String after, Sort sort) {
+        if (after == null || after.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        return decodeCursor(after, sort.stream().map(Sort.Order::getProperty).toList());
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return LONG_TAG + value.toString();
+        }
+        if (value instanceof String string) {
+            return STRING_TAG + URLEncoder.encode(string, StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Unsupported cursor value: " + value);
+    }
+
+    private static Object decodeValue(String value) {
+        String payload = value.substring(1);
+        return switch (value.charAt(0)) {
+            case LONG_TAG -> Long.valueOf(payload);
+            case STRING_TAG -> URLDecoder.decode(payload, StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unsupported cursor value: " + value);
+        };
+    }
+}
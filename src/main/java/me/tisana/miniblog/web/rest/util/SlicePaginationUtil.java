@@ -0,0 +1,70 @@
+package me.tisana.miniblog.web.rest.util;
+
+import java.util.StringJoiner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without an exact total count.
+ * <p>
+ * A {@link Slice} is read with one extra row to know whether a next page exists, so the {@code Link} header can hold
+ * {@code next}, {@code prev} and {@code first} links but no {@code last} link, and there is no {@code X-Total-Count}.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String TOTAL_COUNT_APPROXIMATE_HEADER = "X-Total-Count-Approximate";
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generate the {@code Link} header for a slice.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice of elements returned to the client.
+     * @param <T> the type of the elements.
+     * @return the HTTP headers.
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringJoiner link = new StringJoiner(",");
+        if (slice.hasNext()) {
+            link.add(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (slice.hasPrevious()) {
+            link.add(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        link.add(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    /**
+     * Turn a slice into a page whose total is an estimate, corrected so that it is consistent with the slice.
+     *
+     * @param slice the slice of elements.
+     * @param estimatedTotal the estimated total number of elements.
+     * @param <T> the type of the elements.
+     * @return the page.
+     */
+    public static <T> Page<T> toEstimatedPage(Slice<T> slice, long estimatedTotal) {
+        long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        long seen = offset + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : seen;
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        return String.format(
+            HEADER_LINK_FORMAT,
+            uriBuilder.replaceQueryParam("page", pageNumber).replaceQueryParam("size", pageSize).toUriString(),
+            relType
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.enumeration.Status;
+import org.hibernate.cache.internal.BasicCacheKeyImplementation;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CacheEntrySerializer}.
+ */
+class CacheEntrySerializerTest {
+
+    private final CacheEntrySerializer serializer = new CacheEntrySerializer(getClass().getClassLoader());
+
+    @Test
+    void shouldRoundTripCardEntry() throws Exception {
+        Object item = cardItem();
+
+        ByteBuffer binary = serializer.serialize(item);
+        Object read = serializer.read(binary);
+
+        assertThat(read).isInstanceOf(AbstractReadWriteAccess.Item.class);
+        StandardCacheEntryImpl entry = (StandardCacheEntryImpl) ((AbstractReadWriteAccess.Item) read).getValue();
+        assertThat(entry.getSubclass()).isEqualTo(Card.class.getName());
+        assertThat(entry.getVersion()).isEqualTo(3L);
+        assertThat(entry.getDisassembledState()).containsExactly("name", Status.PUBLISH, "content", 1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldRoundTripKeyAndCompareItWithItsBinaryForm() throws Exception {
+        var key = new BasicCacheKeyImplementation(1051L, Card.class.getName(), 1051);
+        var otherKey = new BasicCacheKeyImplementation(1052L, Card.class.getName(), 1052);
+
+        assertThat(serializer.equals(key, serializer.serialize(key))).isTrue();
+        assertThat(serializer.equals(otherKey, serializer.serialize(key))).isFalse();
+    }
+
+    @Test
+    void shouldRoundTripUnknownClasses() throws Exception {
+        Instant instant = Instant.parse("2026-10-18T09:00:00Z");
+
+        assertThat(serializer.read(serializer.serialize(instant))).isEqualTo(instant);
+    }
+
+    @Test
+    void shouldBeSmallerThanJavaSerialization() throws Exception {
+        Object item = cardItem();
+
+        assertThat(serializer.serialize(item).remaining()).isLessThan(javaSerialize(item).length / 2);
+    }
+
+    private static Object cardItem() throws ReflectiveOperationException {
+        Constructor<StandardCacheEntryImpl> entryConstructor = StandardCacheEntryImpl.class.getDeclaredConstructor(
+            Serializable[].class,
+            String.class,
+            Object.class
+        );
+        entryConstructor.setAccessible(true);
+        Serializable[] state = { "name", Status.PUBLISH, "content", 1L, 2L, 3L };
+        StandardCacheEntryImpl entry = entryConstructor.newInstance(state, Card.class.getName(), 3L);
+
+        Constructor<AbstractReadWriteAccess.Item> itemConstructor = AbstractReadWriteAccess.Item.class.getDeclaredConstructor(
+            Object.class,
+            Object.class,
+            long.class
+        );
+        itemConstructor.setAccessible(true);
+        return itemConstructor.newInstance(entry, 3L, 1L);
+    }
+
+    private static byte[] javaSerialize(Object object) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.CacheEviction;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.service.facet.CardFacetService;
+import me.tisana.miniblog.service.search.CardSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CardIndexEvictionListener}.
+ */
+class CardIndexEvictionListenerTest {
+
+    private CardSearchService cardSearchService;
+
+    private CardFacetService cardFacetService;
+
+    private CardIndexEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        cardSearchService = mock(CardSearchService.class);
+        cardFacetService = mock(CardFacetService.class);
+        listener = new CardIndexEvictionListener(cardSearchService, cardFacetService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.close();
+    }
+
+    @Test
+    void evictedCardsAreRefreshed() throws InterruptedException {
+        Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> refreshed.addAll(invocation.<Collection<Long>>getArgument(0)))
+            .when(cardSearchService)
+            .refresh(anyCollection());
+
+        listener.evict(new CacheEviction(false, Card.class.getName(), "1"));
+        listener.evict(new CacheEviction(false, Card.class.getName(), "2"));
+        listener.evict(new CacheEviction(false, Author.class.getName(), "3"));
+        listener.evict(new CacheEviction(true, Author.class.getName() + ".cards", "4"));
+
+        verify(cardSearchService, timeout(5000).atLeastOnce()).refresh(anyCollection());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (refreshed.size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(refreshed).containsExactlyInAnyOrder(1L, 2L);
+        verify(cardFacetService, timeout(5000).atLeastOnce()).refresh(anyCollection());
+    }
+
+    @Test
+    void failedRefreshRebuildsTheIndexes() {
+        doThrow(new IllegalStateException("down")).when(cardSearchService).refresh(anyCollection());
+
+        listener.evict(new CacheEviction(false, Card.class.getName(), "1"));
+
+        verify(cardSearchService, timeout(5000)).rebuildIndex();
+        verify(cardFacetService, timeout(5000)).rebuildIndex();
+    }
+
+    @Test
+    void missedEvictionsRebuildTheIndexes() {
+        listener.evictAll();
+
+        verify(cardSearchService).rebuildIndex();
+        verify(cardFacetService).rebuildIndex();
+    }
+}
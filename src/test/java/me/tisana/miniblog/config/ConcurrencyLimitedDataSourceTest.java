@@ -0,0 +1,90 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ConcurrencyLimitedDataSource}.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnectionShouldHoldAPermitUntilClosed() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnectionShouldTimeOutWhenLimitIsReached() throws SQLException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dataSource.bindTo(registry);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(registry.get("jdbc.concurrency.rejected").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("jdbc.concurrency.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void getConnectionShouldReleaseThePermitWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void connectionShouldDelegateToTarget() throws SQLException {
+        Connection targetConnection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(targetConnection);
+
+        Connection connection = dataSource.getConnection();
+        connection.commit();
+        connection.close();
+
+        verify(targetConnection).commit();
+        verify(targetConnection).close();
+        assertThat(connection).isEqualTo(connection).isNotEqualTo(targetConnection);
+    }
+
+    @Test
+    void limitingShouldDefaultToThePoolSize() {
+        try (HikariDataSource pool = new HikariDataSource()) {
+            pool.setMaximumPoolSize(7);
+            pool.setConnectionTimeout(250);
+
+            assertThat(ConcurrencyLimitedDataSource.limiting(pool, null).getLimit()).isEqualTo(7);
+            assertThat(ConcurrencyLimitedDataSource.limiting(pool, 3).getLimit()).isEqualTo(3);
+        }
+    }
+}
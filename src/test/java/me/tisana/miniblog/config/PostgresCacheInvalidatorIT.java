@@ -0,0 +1,83 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.repository.CategoryRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the evictions received from the other nodes by the {@link PostgresCacheInvalidator}.
+ */
+@IntegrationTest
+class PostgresCacheInvalidatorIT {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionFactoryImplementor sessionFactory;
+
+    private PostgresCacheInvalidator invalidator;
+
+    private Category category;
+
+    @BeforeEach
+    void initTest() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        invalidator = new PostgresCacheInvalidator(sessionFactory, new DataSourceProperties(), "test", new SimpleMeterRegistry());
+        category = categoryRepository.saveAndFlush(new Category().name("before"));
+        sessionFactory.getCache().evictEntityData(Category.class, category.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void remoteEvictionShouldRejectEntriesLoadedByEarlierTransactions() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidator.apply("other-node\nE\t" + Category.class.getName() + '\t' + category.getId());
+            assertThat(categoryRepository.findById(category.getId())).get().extracting(Category::getName).isEqualTo("before");
+        });
+
+        jdbcTemplate.update("update category set name = 'after' where id = ?", category.getId());
+
+        String name = transactionTemplate.execute(status -> categoryRepository.findById(category.getId()).orElseThrow().getName());
+        assertThat(name).isEqualTo("after");
+    }
+
+    @Test
+    void remoteEvictionShouldNotRejectEntriesLoadedByLaterTransactions() {
+        invalidator.apply("other-node\nE\t" + Category.class.getName() + '\t' + category.getId());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> categoryRepository.findById(category.getId()));
+
+        jdbcTemplate.update("update category set name = 'after' where id = ?", category.getId());
+
+        String name = transactionTemplate.execute(status -> categoryRepository.findById(category.getId()).orElseThrow().getName());
+        assertThat(name).isEqualTo("before");
+    }
+}
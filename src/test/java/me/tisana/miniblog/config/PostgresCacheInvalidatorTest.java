@@ -0,0 +1,71 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import me.tisana.miniblog.config.PostgresCacheInvalidator.CacheEviction;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the payloads of the {@link PostgresCacheInvalidator}.
+ */
+class PostgresCacheInvalidatorTest {
+
+    private static final String NODE_ID = "3f2c7a4e-0b5d-4c1e-9a8f-6d2b1e0c9f7a";
+
+    @Test
+    void encodeShouldRoundTripThroughDecode() {
+        List<CacheEviction> evictions = List.of(
+            new CacheEviction(false, "me.tisana.miniblog.domain.Card", "1051"),
+            new CacheEviction(true, "me.tisana.miniblog.domain.Author.cards", "1001")
+        );
+
+        List<String> payloads = PostgresCacheInvalidator.encode(NODE_ID, evictions);
+
+        assertThat(payloads).hasSize(1);
+        List<String> lines = payloads.getFirst().lines().toList();
+        assertThat(lines.getFirst()).isEqualTo(NODE_ID);
+        assertThat(PostgresCacheInvalidator.decode(lines.subList(1, lines.size()))).isEqualTo(evictions);
+    }
+
+    @Test
+    void encodeShouldSplitLargeBatches() {
+        List<CacheEviction> evictions = IntStream.range(0, 1000)
+            .mapToObj(id -> new CacheEviction(false, "me.tisana.miniblog.domain.Card", String.valueOf(id)))
+            .toList();
+
+        List<String> payloads = PostgresCacheInvalidator.encode(NODE_ID, evictions);
+
+        assertThat(payloads).hasSizeGreaterThan(1).allSatisfy(payload -> {
+            assertThat(payload.length()).isLessThanOrEqualTo(PostgresCacheInvalidator.MAX_PAYLOAD_LENGTH);
+            assertThat(payload).startsWith(NODE_ID + "\n");
+        });
+        assertThat(
+            payloads
+                .stream()
+                .flatMap(payload -> PostgresCacheInvalidator.decode(payload.lines().skip(1).toList()).stream())
+                .toList()
+        ).isEqualTo(evictions);
+    }
+
+    @Test
+    void encodeShouldRoundTripWholeRegions() {
+        CacheEviction eviction = new CacheEviction(false, "me.tisana.miniblog.domain.Card", "1051").toWholeRegion();
+
+        List<String> lines = PostgresCacheInvalidator.encode(NODE_ID, List.of(eviction)).getFirst().lines().toList();
+
+        assertThat(lines.get(1)).endsWith("\t*");
+        assertThat(PostgresCacheInvalidator.decode(lines.subList(1, lines.size()))).singleElement().satisfies(decoded -> {
+            assertThat(decoded.isWholeRegion()).isTrue();
+            assertThat(decoded.region()).isEqualTo("me.tisana.miniblog.domain.Card");
+        });
+    }
+
+    @Test
+    void decodeShouldIgnoreMalformedLines() {
+        assertThat(PostgresCacheInvalidator.decode(List.of("E\tme.tisana.miniblog.domain.Card", "C\tregion\t1"))).containsExactly(
+            new CacheEviction(true, "region", "1")
+        );
+    }
+}
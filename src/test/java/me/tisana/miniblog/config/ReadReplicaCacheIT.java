@@ -0,0 +1,124 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Optional;
+import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
+import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.repository.CategoryRepository;
+import me.tisana.miniblog.service.CacheWarmupService;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the second-level cache of the transactions routed to a read replica, and for its warm-up, the
+ * test database serving as its own replica.
+ */
+@IntegrationTest
+class ReadReplicaCacheIT {
+
+    @DynamicPropertySource
+    static void registerReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("application.jdbc.read-replicas.enabled", () -> "true");
+        registry.add("application.jdbc.read-replicas.urls[0]", DatabaseTestcontainer.databaseContainer::getJdbcUrl);
+        registry.add("application.jdbc.read-replicas.lag-query", () -> "select 0");
+        registry.add("application.cache.warmup.enabled", () -> "true");
+    }
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CacheWarmupService cacheWarmupService;
+
+    @Autowired
+    private ReadReplicaRouter readReplicaRouter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+
+    private Category category;
+
+    @BeforeEach
+    void initTest() {
+        cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        category = categoryRepository.saveAndFlush(new Category().name("replica"));
+        readReplicaRouter.checkReplicas();
+    }
+
+    @AfterEach
+    void cleanup() {
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void replicaReadsDoNotPutEntitiesInTheCache() {
+        cache.evictEntityData(Category.class, category.getId());
+        double replicaReads = replicaReads();
+
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        Optional<Category> found = readOnlyTransactionTemplate.execute(status -> categoryRepository.findById(category.getId()));
+
+        assertThat(found).isPresent();
+
+        assertThat(replicaReads()).isGreaterThan(replicaReads);
+        assertThat(cache.containsEntity(Category.class, category.getId())).isFalse();
+    }
+
+    @Test
+    void primaryReadsPutEntitiesInTheCache() {
+        cache.evictEntityData(Category.class, category.getId());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Optional<Category> found = transactionTemplate.execute(status -> categoryRepository.findById(category.getId()));
+
+        assertThat(found).isPresent();
+
+        assertThat(cache.containsEntity(Category.class, category.getId())).isTrue();
+    }
+
+    @Test
+    void warmUpPutsEntitiesInTheCache() {
+        Card card = cardRepository.saveAndFlush(new Card().name("replica").category(category));
+        try {
+            cache.evictAllRegions();
+
+            cacheWarmupService.warmUp();
+
+            assertThat(cacheWarmupService.getProgress().phase()).isEqualTo(CacheWarmupService.Phase.DONE);
+            assertThat(cache.containsEntity(Category.class, category.getId())).isTrue();
+            assertThat(cache.containsEntity(Card.class, card.getId())).isTrue();
+            assertThat(cache.containsCollection(Category.class.getName() + ".cards", category.getId())).isTrue();
+        } finally {
+            cardRepository.deleteById(card.getId());
+        }
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("jdbc.replica.routed").tag("target", "replica").functionCounter().count();
+    }
+}
@@ -0,0 +1,57 @@
+package me.tisana.miniblog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Test class for the {@link ReadYourWritesTracker}.
+ */
+class ReadYourWritesTrackerTest {
+
+    @BeforeEach
+    void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("writer", "writer"));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldKeepRecentWriterOnPrimary() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        assertThat(tracker.isCurrentUserRecentWriter()).isFalse();
+
+        tracker.recordWrite("writer");
+
+        assertThat(tracker.isCurrentUserRecentWriter()).isTrue();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("reader", "reader"));
+        assertThat(tracker.isCurrentUserRecentWriter()).isFalse();
+    }
+
+    @Test
+    void shouldForgetWritesOutsideWindow() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ZERO);
+
+        tracker.recordWrite("writer");
+
+        assertThat(tracker.isCurrentUserRecentWriter()).isFalse();
+        tracker.purgeExpired();
+        assertThat(tracker.isCurrentUserRecentWriter()).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreAnonymousUsers() {
+        SecurityContextHolder.clearContext();
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+        assertThat(tracker.isCurrentUserRecentWriter()).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package me.tisana.miniblog.management;
+
+import static me.tisana.miniblog.management.MicrometerStatistics.QUERY_METER_NAME;
+import static me.tisana.miniblog.management.MicrometerStatistics.QUERY_TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MicrometerStatisticsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private MicrometerStatistics statistics;
+
+    @BeforeEach
+    void initTest() {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().getQueryStatisticsMaxSize()).thenReturn(10);
+        registry = new SimpleMeterRegistry();
+        statistics = new MicrometerStatistics(sessionFactory, registry, 2);
+    }
+
+    @Test
+    void shouldRecordExecutionsInOneTimerPerQuery() {
+        statistics.queryExecuted("select a from Author a", 1, 5);
+        statistics.queryExecuted("select a from Author a", 1, 7);
+
+        assertThat(registry.get(QUERY_METER_NAME).timers()).hasSize(1);
+        assertThat(registry.get(QUERY_METER_NAME).tag(QUERY_TAG, "select a from Author a").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotRecordQueriesBeyondTheLimit() {
+        statistics.queryExecuted("select a from Author a", 1, 5);
+        statistics.queryExecuted("select c from Card c", 1, 5);
+        statistics.queryExecuted("select c from Category c", 1, 5);
+        statistics.queryExecuted("select a from Author a", 1, 5);
+
+        assertThat(registry.get(QUERY_METER_NAME).timers()).hasSize(2);
+        assertThat(registry.find(QUERY_METER_NAME).tag(QUERY_TAG, "select c from Category c").timer()).isNull();
+        assertThat(registry.get(QUERY_METER_NAME).tag(QUERY_TAG, "select a from Author a").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,71 @@
+package me.tisana.miniblog.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementCounterTest {
+
+    private static final String SELECT = "select a1_0.id from author a1_0 where a1_0.id=?";
+
+    @Test
+    void shouldCollapseParameterLists() {
+        assertThat(SqlStatementCounter.shapeOf(" select c.id from card c where c.id in (?, ?,?) ")).isEqualTo(
+            "select c.id from card c where c.id in (?)"
+        );
+        assertThat(SqlStatementCounter.shapeOf("select c.id from card c where c.id=(?)")).isEqualTo(
+            "select c.id from card c where c.id=(?)"
+        );
+    }
+
+    @Test
+    void shouldOnlyCountStatementsInOpenScopes() {
+        SqlStatementCounter counter = new SqlStatementCounter(10, false);
+        counter.inspect(SELECT);
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open("outer")) {
+            counter.inspect(SELECT);
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.open("inner")) {
+                counter.inspect("select c.id from card c where c.id in (?,?)");
+                counter.inspect("select c.id from card c where c.id in (?,?,?)");
+                assertThat(inner.getCount()).isEqualTo(2);
+                assertThat(inner.getExecutionsByShape()).containsExactly(
+                    entry("select c.id from card c where c.id in (?)", 2)
+                );
+            }
+            counter.inspect(SELECT);
+            assertThat(outer.getCount()).isEqualTo(4);
+            assertThat(outer.getExecutionsByShape()).containsEntry(SELECT, 2);
+        }
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("after")) {
+            assertThat(scope.getCount()).isZero();
+        }
+    }
+
+    @Test
+    void shouldReportRepeatedSelectsOnce() {
+        SqlStatementCounter counter = new SqlStatementCounter(2, false);
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("test")) {
+            for (int i = 0; i < 5; i++) {
+                counter.inspect(SELECT);
+                counter.inspect("update author set username=? where id=?");
+            }
+            assertThat(scope.getCount()).isEqualTo(10);
+            assertThat(scope.getRepeated()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldFailOnRepeatedSelectsWhenConfigured() {
+        SqlStatementCounter counter = new SqlStatementCounter(2, true);
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("GET /api/cards")) {
+            counter.inspect(SELECT);
+            counter.inspect(SELECT);
+            assertThatThrownBy(() -> counter.inspect(SELECT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("GET /api/cards")
+                .hasMessageContaining(SELECT);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package me.tisana.miniblog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import me.tisana.miniblog.service.CacheWarmupService.CollectionOwner;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the selection of the collections preloaded by the {@link CacheWarmupService}.
+ */
+class CacheWarmupServiceTest {
+
+    @Test
+    void selectCollectionOwnersOfTheMostRecentCardsFirst() {
+        Map<Long, CollectionOwner> owners = Map.of(
+            1L,
+            new CollectionOwner(100, 40),
+            2L,
+            new CollectionOwner(300, 30),
+            3L,
+            new CollectionOwner(200, 50)
+        );
+
+        assertThat(CacheWarmupService.selectCollectionOwners(owners, 100)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void selectCollectionOwnersSkipsTheCollectionsExceedingTheLimit() {
+        Map<Long, CollectionOwner> owners = Map.of(1L, new CollectionOwner(300, 1_000_000), 2L, new CollectionOwner(200, 10));
+
+        assertThat(CacheWarmupService.selectCollectionOwners(owners, 100)).containsExactly(2L);
+        assertThat(CacheWarmupService.selectCollectionOwners(owners, 0)).isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+package me.tisana.miniblog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.repository.AuthorRepository;
+import me.tisana.miniblog.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CardCountService}.
+ * <p>
+ * Tests are not transactional, as the reconciliation runs its own transactions.
+ */
+@IntegrationTest
+class CardCountServiceIT {
+
+    @Autowired
+    private CardCountService cardCountService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Author author;
+
+    private Card card;
+
+    @AfterEach
+    void cleanup() {
+        if (card != null) {
+            cardRepository.delete(card);
+        }
+        if (author != null) {
+            authorRepository.delete(author);
+        }
+    }
+
+    @Test
+    void reconcileRecountsStaleCardCounts() {
+        author = authorRepository.saveAndFlush(new Author().username("card-count").password("card-count"));
+        // Written without the card service, so that the card count is not maintained
+        card = cardRepository.saveAndFlush(new Card().name("Counted").status(Status.DRAFT).author(author));
+        assertThat(authorRepository.findById(author.getId()).orElseThrow().getCardCount()).isZero();
+
+        assertThat(cardCountService.reconcile()).isPositive();
+
+        assertThat(authorRepository.findById(author.getId()).orElseThrow().getCardCount()).isEqualTo(1L);
+        assertThat(authorRepository.findIdsWithStaleCardCount()).doesNotContain(author.getId());
+    }
+
+    @Test
+    void reconcileIsSkippedWhileAnotherNodeHoldsTheLock() {
+        author = authorRepository.saveAndFlush(new Author().username("card-count").password("card-count"));
+        card = cardRepository.saveAndFlush(new Card().name("Counted").status(Status.DRAFT).author(author));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(cardRepository.tryAdvisoryTransactionLock(CardCountService.RECONCILE_LOCK_KEY)).isTrue();
+
+            assertThat(cardCountService.reconcile()).isZero();
+        });
+
+        assertThat(authorRepository.findById(author.getId()).orElseThrow().getCardCount()).isZero();
+    }
+}
@@ -0,0 +1,169 @@
+package me.tisana.miniblog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import me.tisana.miniblog.config.ApplicationProperties;
+import me.tisana.miniblog.service.CardResponseCache.CardResponse;
+import me.tisana.miniblog.service.dto.AuthorDTO;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CategoryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Test class for the {@link CardResponseCache} class.
+ */
+class CardResponseCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void loadedCardIsKeptUntilEvicted() {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+
+        CardResponse response = cache.load(1L, id -> Optional.of(card(id, 10L, 20L, "card"))).orElseThrow();
+
+        assertThat(jsonMapper.readValue(response.json(), CardDTO.class).getName()).isEqualTo("card");
+        assertThat(response.gzip()).isNull();
+        assertThat(response.version()).isEqualTo(3L);
+        assertThat(response.authorVersion()).isEqualTo(11L);
+        assertThat(response.categoryVersion()).isEqualTo(21L);
+        assertThat(cache.get(1L)).containsSame(response);
+        assertThat(count("hit")).isEqualTo(1);
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void missingCardIsNotKept() {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+
+        assertThat(cache.load(1L, id -> Optional.empty())).isEmpty();
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void cardsAreEvictedWithTheirAuthorOrCategory() {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+        cache.load(1L, id -> Optional.of(card(id, 10L, 20L, "first")));
+        cache.load(2L, id -> Optional.of(card(id, 10L, 21L, "second")));
+        cache.load(3L, id -> Optional.of(card(id, 11L, 21L, "third")));
+
+        cache.evictAuthor(10L);
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+
+        cache.evictCategory(21L);
+
+        assertThat(cache.get(3L)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotKept() {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+
+        Optional<CardResponse> response = cache.load(1L, id -> {
+            // The card is changed while it is read
+            cache.evict(id);
+            return Optional.of(card(id, 10L, 20L, "stale"));
+        });
+
+        assertThat(response).isPresent();
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void cardIsReadAgainOnceExpired() throws InterruptedException {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(1));
+        cache.load(1L, id -> Optional.of(card(id, 10L, 20L, "card")));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getCardResponses().setTimeToLive(Duration.ofMillis(1));
+        CardResponseCache expiringCache = new CardResponseCache(jsonMapper, applicationProperties, new SimpleMeterRegistry());
+        expiringCache.load(1L, id -> Optional.of(card(id, 10L, 20L, "card")));
+
+        Thread.sleep(5);
+
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(expiringCache.get(1L)).isEmpty();
+        assertThat(expiringCache.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyReadCardsAreDropped() {
+        CardResponseCache cache = cache(DataSize.ofBytes(1000), DataSize.ofKilobytes(1));
+        cache.load(1L, id -> Optional.of(card(id, 10L, 20L, "first")));
+        cache.load(2L, id -> Optional.of(card(id, 10L, 20L, "second")));
+        cache.get(1L);
+
+        cache.load(3L, id -> Optional.of(card(id, 10L, 20L, "third")));
+
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.get(3L)).isPresent();
+        assertThat(cache.size()).isLessThanOrEqualTo(1000);
+
+        // The author index no longer holds the dropped card
+        cache.evictAuthor(10L);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void largeCardsKeepAGzipCopy() throws IOException {
+        CardResponseCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofBytes(100));
+        CardDTO cardDTO = card(1L, 10L, 20L, "card");
+        cardDTO.setContent("content ".repeat(100));
+
+        CardResponse response = cache.load(1L, id -> Optional.of(cardDTO)).orElseThrow();
+
+        assertThat(response.gzip()).isNotNull().hasSizeLessThan(response.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(response.json());
+        }
+    }
+
+    private CardResponseCache cache(DataSize maxSize, DataSize gzipMinSize) {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getCardResponses().setMaxSize(maxSize);
+        applicationProperties.getCache().getCardResponses().setGzipMinSize(gzipMinSize);
+        return new CardResponseCache(jsonMapper, applicationProperties, meterRegistry);
+    }
+
+    private static CardDTO card(Long id, Long authorId, Long categoryId, String name) {
+        AuthorDTO author = new AuthorDTO();
+        author.setId(authorId);
+        author.setUsername("author");
+        author.setVersion(authorId + 1);
+        CategoryDTO category = new CategoryDTO();
+        category.setId(categoryId);
+        category.setName("category");
+        category.setVersion(categoryId + 1);
+        CardDTO cardDTO = new CardDTO();
+        cardDTO.setId(id);
+        cardDTO.setName(name);
+        cardDTO.setVersion(3L);
+        cardDTO.setAuthor(author);
+        cardDTO.setCategory(category);
+        return cardDTO;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("card.response.cache.gets").tag("result", result).functionCounter().count();
+    }
+}
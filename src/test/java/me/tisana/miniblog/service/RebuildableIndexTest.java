@@ -0,0 +1,70 @@
+package me.tisana.miniblog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RebuildableIndex} class.
+ */
+class RebuildableIndexTest {
+
+    private final RebuildableIndex<Map<Long, String>> index = new RebuildableIndex<>(ConcurrentHashMap::new);
+
+    @Test
+    void rebuildReplacesTheIndexOnceComplete() {
+        index.apply(1L, cards -> cards.put(1L, "first"));
+        Map<Long, String> previous = index.get();
+
+        Map<Long, String> rebuilt = index.rebuild(fresh -> {
+            fresh.put(2L, "second");
+            // Readers keep using the previous index until the rebuild completes
+            assertThat(index.get()).isSameAs(previous).containsOnlyKeys(1L);
+        });
+
+        assertThat(index.get()).isSameAs(rebuilt).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void changesDuringTheRebuildAreAppliedAgain() {
+        Map<Long, String> rebuilt = index.rebuild(fresh -> {
+            // The rows are read before the cards are changed
+            fresh.put(1L, "stale");
+            fresh.put(2L, "deleted");
+            index.apply(1L, cards -> cards.put(1L, "created"));
+            index.apply(1L, cards -> cards.put(1L, "updated"));
+            index.apply(2L, cards -> cards.remove(2L));
+        });
+
+        assertThat(rebuilt).containsExactly(Map.entry(1L, "updated"));
+    }
+
+    @Test
+    void changesAfterTheRebuildAreNotRecorded() {
+        index.rebuild(fresh -> {});
+        index.apply(1L, cards -> cards.put(1L, "first"));
+
+        Map<Long, String> rebuilt = index.rebuild(fresh -> {});
+
+        assertThat(rebuilt).isEmpty();
+    }
+
+    @Test
+    void failedRebuildKeepsTheIndex() {
+        index.apply(1L, cards -> cards.put(1L, "first"));
+        Map<Long, String> previous = index.get();
+
+        assertThatIllegalStateException().isThrownBy(() ->
+            index.rebuild(fresh -> {
+                throw new IllegalStateException("down");
+            })
+        );
+        index.apply(2L, cards -> cards.put(2L, "second"));
+
+        assertThat(index.get()).isSameAs(previous).containsOnlyKeys(1L, 2L);
+        assertThat(index.rebuild(fresh -> {})).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package me.tisana.miniblog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SingleFlight} class.
+ */
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<Long, Object> flight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        int followers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+        try {
+            Future<Object> leader = executor.submit(() ->
+                flight.load(1L, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return value;
+                })
+            );
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                results.add(executor.submit(() -> flight.load(1L, () -> loads.incrementAndGet())));
+            }
+            while (count("coalesced") < followers) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(value);
+            for (Future<Object> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(value);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("loaded")).isEqualTo(1);
+        assertThat(meterRegistry.get("single.flight.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void completedLoadsAreNotKept() {
+        assertThat(flight.load(1L, () -> "first")).isEqualTo("first");
+        assertThat(flight.load(1L, () -> "second")).isEqualTo("second");
+        assertThat(flight.load(2L, () -> "other")).isEqualTo("other");
+
+        assertThat(count("loaded")).isEqualTo(3);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void failedLoadIsRethrownAndForgotten() {
+        assertThatIllegalStateException().isThrownBy(() ->
+            flight.load(1L, () -> {
+                throw new IllegalStateException("down");
+            })
+        );
+
+        assertThat(flight.load(1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("single.flight.calls").tag("result", result).functionCounter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
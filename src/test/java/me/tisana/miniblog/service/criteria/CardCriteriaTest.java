@@ -0,0 +1,108 @@
+package me.tisana.miniblog.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.assertj.core.api.Condition;
+import org.junit.jupiter.api.Test;
+
+class CardCriteriaTest {
+
+    @Test
+    void newCardCriteriaHasAllFiltersNullTest() {
+        var cardCriteria = new CardCriteria();
+        assertThat(cardCriteria).is(criteriaFiltersAre(Objects::isNull));
+        assertThat(cardCriteria.hasFilters()).isFalse();
+    }
+
+    @Test
+    void cardCriteriaFluentMethodsCreatesFiltersTest() {
+        var cardCriteria = new CardCriteria();
+        setAllFilters(cardCriteria);
+        assertThat(cardCriteria).is(criteriaFiltersAre(Objects::nonNull));
+        assertThat(cardCriteria.hasFilters()).isTrue();
+    }
+
+    @Test
+    void cardCriteriaDistinctIsNotAFilterTest() {
+        var cardCriteria = new CardCriteria();
+        cardCriteria.distinct();
+        assertThat(cardCriteria.hasFilters()).isFalse();
+    }
+
+    @Test
+    void cardCriteriaCopyCreatesNullFilterTest() {
+        var cardCriteria = new CardCriteria();
+        var copy = cardCriteria.copy();
+
+        assertThat(cardCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+    }
+
+    @Test
+    void cardCriteriaCopyDuplicatesEveryExistingFilterTest() {
+        var cardCriteria = new CardCriteria();
+        setAllFilters(cardCriteria);
+
+        var copy = cardCriteria.copy();
+
+        assertThat(cardCriteria).satisfies(
+            criteria ->
+                assertThat(criteria).is(
+                    copyFiltersAre(copy, (a, b) -> (a == null || a instanceof Boolean) ? a == b : (a != b && a.equals(b)))
+                ),
+            criteria -> assertThat(criteria).isEqualTo(copy),
+            criteria -> assertThat(criteria).hasSameHashCodeAs(copy)
+        );
+    }
+
+    @Test
+    void toStringVerifier() {
+        var cardCriteria = new CardCriteria();
+
+        assertThat(cardCriteria).hasToString("CardCriteria{}");
+    }
+
+    private static void setAllFilters(CardCriteria cardCriteria) {
+        cardCriteria.id();
+        cardCriteria.name();
+        cardCriteria.status();
+        cardCriteria.authorId();
+        cardCriteria.categoryId();
+        cardCriteria.distinct();
+    }
+
+    private static Condition<CardCriteria> criteriaFiltersAre(Function<Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId()) &&
+                condition.apply(criteria.getName()) &&
+                condition.apply(criteria.getStatus()) &&
+                condition.apply(criteria.getAuthorId()) &&
+                condition.apply(criteria.getCategoryId()) &&
+                condition.apply(criteria.getDistinct()),
+            "every filter matches"
+        );
+    }
+
+    private static Condition<CardCriteria> copyFiltersAre(CardCriteria copy, BiFunction<Object, Object, Boolean> condition) {
+        return new Condition<>(
+            criteria ->
+                condition.apply(criteria.getId(), copy.getId()) &&
+                condition.apply(criteria.getName(), copy.getName()) &&
+                condition.apply(criteria.getStatus(), copy.getStatus()) &&
+                condition.apply(criteria.getAuthorId(), copy.getAuthorId()) &&
+                condition.apply(criteria.getCategoryId(), copy.getCategoryId()) &&
+                condition.apply(criteria.getDistinct(), copy.getDistinct()),
+            "every filter matches"
+        );
+    }
+}
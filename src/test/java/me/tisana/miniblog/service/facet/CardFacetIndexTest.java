@@ -0,0 +1,115 @@
+package me.tisana.miniblog.service.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.service.facet.CardFacetIndex.FacetCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CardFacetIndex}.
+ */
+class CardFacetIndexTest {
+
+    private CardFacetIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new CardFacetIndex();
+        index.index(1L, Status.PUBLISH, 10L, 100L);
+        index.index(2L, Status.PUBLISH, 10L, 200L);
+        index.index(3L, Status.DRAFT, 20L, 100L);
+        index.index(4L, null, null, null);
+    }
+
+    @Test
+    void countWithoutFilters() {
+        FacetCounts counts = index.count(List.of(), List.of(), List.of());
+
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.statuses()).containsExactly(entry(Status.DRAFT, 1), entry(Status.PUBLISH, 2));
+        assertThat(counts.categories()).containsExactly(entry(10L, 2), entry(20L, 1));
+        assertThat(counts.authors()).containsExactly(entry(100L, 2), entry(200L, 1));
+    }
+
+    @Test
+    void countAppliesTheFiltersOfTheOtherFacets() {
+        FacetCounts counts = index.count(List.of(Status.PUBLISH), List.of(), List.of(100L));
+
+        assertThat(counts.total()).isEqualTo(1);
+        // Statuses of the cards of author 100, authors of the published cards
+        assertThat(counts.statuses()).containsExactly(entry(Status.DRAFT, 1), entry(Status.PUBLISH, 1));
+        assertThat(counts.categories()).containsExactly(entry(10L, 1));
+        assertThat(counts.authors()).containsExactly(entry(100L, 1), entry(200L, 1));
+    }
+
+    @Test
+    void countMatchesAnyValueOfAFilter() {
+        FacetCounts counts = index.count(List.of(), List.of(10L, 20L, 30L), List.of());
+
+        assertThat(counts.total()).isEqualTo(3);
+        assertThat(index.count(List.of(), List.of(30L), List.of()).total()).isZero();
+    }
+
+    @Test
+    void indexMovesChangedCards() {
+        index.index(1L, Status.DRAFT, 20L, 100L);
+
+        FacetCounts counts = index.count(List.of(), List.of(), List.of());
+
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.statuses()).containsExactly(entry(Status.DRAFT, 2), entry(Status.PUBLISH, 1));
+        assertThat(counts.categories()).containsExactly(entry(10L, 1), entry(20L, 2));
+    }
+
+    @Test
+    void removeReusesDocuments() {
+        index.remove(1L);
+        index.remove(1L);
+        index.index(5L, Status.PUBLISH, 30L, 300L);
+
+        FacetCounts counts = index.count(List.of(), List.of(), List.of());
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.categories()).containsExactly(entry(10L, 1), entry(20L, 1), entry(30L, 1));
+        assertThat(counts.authors()).containsExactly(entry(100L, 1), entry(200L, 1), entry(300L, 1));
+    }
+
+    @Test
+    void countManyValuesOfAFacet() {
+        index.clear();
+        for (long cardId = 0; cardId < 10_000; cardId++) {
+            index.index(cardId, cardId % 2 == 0 ? Status.PUBLISH : Status.DRAFT, cardId % 5, cardId % 1_000);
+        }
+
+        FacetCounts all = index.count(List.of(), List.of(), List.of());
+        FacetCounts filtered = index.count(List.of(Status.PUBLISH), List.of(1L), List.of());
+
+        assertThat(all.authors()).hasSize(1_000).containsEntry(7L, 10);
+        // Card ids ending with 6, so that each author ending with 6 has 10 of them
+        assertThat(filtered.total()).isEqualTo(1_000);
+        assertThat(filtered.authors()).hasSize(100).containsEntry(6L, 10).doesNotContainKey(1L);
+        assertThat(filtered.categories()).containsExactly(
+            entry(0L, 1_000),
+            entry(1L, 1_000),
+            entry(2L, 1_000),
+            entry(3L, 1_000),
+            entry(4L, 1_000)
+        );
+    }
+
+    @Test
+    void clearRemovesAllCards() {
+        index.clear();
+
+        FacetCounts counts = index.count(List.of(), List.of(), List.of());
+
+        assertThat(index.size()).isZero();
+        assertThat(counts.total()).isZero();
+        assertThat(counts.statuses()).isEmpty();
+    }
+}
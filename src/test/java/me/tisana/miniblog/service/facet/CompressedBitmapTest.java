@@ -0,0 +1,129 @@
+package me.tisana.miniblog.service.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CompressedBitmap}, checked against {@link BitSet}s.
+ */
+class CompressedBitmapTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void addRemoveAndContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+
+        assertThat(bitmap.add(3)).isTrue();
+        assertThat(bitmap.add(3)).isFalse();
+        assertThat(bitmap.add(1 << 20)).isTrue();
+        assertThat(bitmap.contains(3)).isTrue();
+        assertThat(bitmap.contains(4)).isFalse();
+        assertThat(bitmap.contains(1 << 20)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+
+        assertThat(bitmap.remove(3)).isTrue();
+        assertThat(bitmap.remove(3)).isFalse();
+        assertThat(bitmap.remove(7 << 16)).isFalse();
+        assertThat(bitmap.contains(3)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void containersSwitchBetweenArraysAndBitmaps() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet expected = new BitSet();
+        for (int value = 0; value < CompressedBitmap.MAX_ARRAY_SIZE + 100; value++) {
+            bitmap.add(value * 3);
+            expected.set(value * 3);
+        }
+        assertSameValues(bitmap, expected);
+
+        for (int value = 0; value < CompressedBitmap.MAX_ARRAY_SIZE + 100; value += 2) {
+            bitmap.remove(value * 3);
+            expected.clear(value * 3);
+        }
+        assertSameValues(bitmap, expected);
+    }
+
+    @Test
+    void andAndOrMatchBitSets() {
+        // Sparse and dense ranges, so that all the kinds of containers meet
+        for (int density : new int[] { 50, 5_000, 40_000 }) {
+            BitSet first = randomBitSet(density);
+            BitSet second = randomBitSet(density / 2 + 1);
+            CompressedBitmap firstBitmap = toBitmap(first);
+            CompressedBitmap secondBitmap = toBitmap(second);
+
+            BitSet and = (BitSet) first.clone();
+            and.and(second);
+            BitSet or = (BitSet) first.clone();
+            or.or(second);
+
+            assertThat(firstBitmap.andCardinality(secondBitmap)).isEqualTo(and.cardinality());
+            assertSameValues(firstBitmap.and(secondBitmap), and);
+            assertSameValues(firstBitmap.or(secondBitmap), or);
+            // The operands are left unchanged
+            assertSameValues(firstBitmap, first);
+            assertSameValues(secondBitmap, second);
+        }
+    }
+
+    @Test
+    void forEachVisitsValuesInOrder() {
+        BitSet expected = randomBitSet(5_000);
+        BitSet visited = new BitSet();
+        int[] previous = { -1 };
+
+        toBitmap(expected).forEach(value -> {
+            assertThat(value).isGreaterThan(previous[0]);
+            previous[0] = value;
+            visited.set(value);
+        });
+
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void resultsOfOperationsCanBeChanged() {
+        CompressedBitmap empty = new CompressedBitmap();
+        CompressedBitmap bitmap = toBitmap(randomBitSet(100));
+
+        CompressedBitmap and = bitmap.and(empty);
+        and.add(5);
+        CompressedBitmap or = bitmap.or(empty);
+        or.add(Integer.MAX_VALUE);
+
+        assertThat(and.cardinality()).isEqualTo(1);
+        assertThat(or.cardinality()).isEqualTo(bitmap.cardinality() + 1);
+        assertThat(bitmap.contains(Integer.MAX_VALUE)).isFalse();
+    }
+
+    /**
+     * Values spread over 4 containers, with about the given number of values in each.
+     */
+    private BitSet randomBitSet(int valuesPerContainer) {
+        BitSet bitSet = new BitSet();
+        for (int container = 0; container < 4; container++) {
+            for (int i = 0; i < valuesPerContainer; i++) {
+                bitSet.set((container << 16) + random.nextInt(1 << 16));
+            }
+        }
+        return bitSet;
+    }
+
+    private static CompressedBitmap toBitmap(BitSet bitSet) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitSet.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static void assertSameValues(CompressedBitmap bitmap, BitSet expected) {
+        assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+        assertThat(bitmap.andCardinality(toBitmap(expected))).isEqualTo(expected.cardinality());
+        expected.stream().limit(1000).forEach(value -> assertThat(bitmap.contains(value)).isTrue());
+    }
+}
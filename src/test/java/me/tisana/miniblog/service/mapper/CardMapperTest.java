@@ -2,7 +2,10 @@ package me.tisana.miniblog.service.mapper;
 
 import static me.tisana.miniblog.domain.CardAsserts.*;
 import static me.tisana.miniblog.domain.CardTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.repository.CardSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -21,4 +24,18 @@ class CardMapperTest {
         var actual = cardMapper.toEntity(cardMapper.toDto(expected));
         assertCardAllPropertiesEquals(expected, actual);
     }
+
+    @Test
+    void shouldConvertSummaryToDto() {
+        var summary = new CardSummary(1L, "name", Status.PUBLISH, 2L, 3L, "username", 4L, null, null, null);
+        var actual = cardMapper.toSummaryDto(summary);
+        assertThat(actual.getId()).isEqualTo(1L);
+        assertThat(actual.getName()).isEqualTo("name");
+        assertThat(actual.getStatus()).isEqualTo(Status.PUBLISH);
+        assertThat(actual.getVersion()).isEqualTo(2L);
+        assertThat(actual.getAuthor().getId()).isEqualTo(3L);
+        assertThat(actual.getAuthor().getUsername()).isEqualTo("username");
+        assertThat(actual.getAuthor().getVersion()).isEqualTo(4L);
+        assertThat(actual.getCategory()).isNull();
+    }
 }
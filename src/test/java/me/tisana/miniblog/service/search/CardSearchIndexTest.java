@@ -0,0 +1,99 @@
+package me.tisana.miniblog.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import me.tisana.miniblog.service.search.CardSearchIndex.SearchHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CardSearchIndex}.
+ */
+class CardSearchIndexTest {
+
+    private CardSearchIndex index;
+
+    @BeforeEach
+    void init() {
+        index = new CardSearchIndex();
+    }
+
+    @Test
+    void tokenizeSplitsOnNonAlphanumericCharacters() {
+        assertThat(CardSearchIndex.tokenize("Hello, World! Spring-Boot 4")).containsExactly("hello", "world", "spring", "boot", "4");
+        assertThat(CardSearchIndex.tokenize(null)).isEmpty();
+        assertThat(CardSearchIndex.tokenize(" ,;")).isEmpty();
+    }
+
+    @Test
+    void searchRanksByRelevance() {
+        index.index(1L, "Spring tips", "All about Spring Boot and Java");
+        index.index(2L, "Java", "Java records, Java streams");
+        index.index(3L, "Coffee", "Brewing guide");
+
+        SearchHits hits = index.search("java", 0, 20);
+
+        assertThat(hits.cardIds()).containsExactly(2L, 1L);
+        assertThat(hits.totalHits()).isEqualTo(2);
+    }
+
+    @Test
+    void searchMatchesAnyTerm() {
+        index.index(1L, "Spring", null);
+        index.index(2L, "Java", null);
+        index.index(3L, "Coffee", null);
+
+        assertThat(index.search("java COFFEE tea", 0, 20).cardIds()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(index.search("tea", 0, 20).cardIds()).isEmpty();
+        assertThat(index.search("", 0, 20).totalHits()).isZero();
+    }
+
+    @Test
+    void searchPages() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, "card", null);
+        }
+
+        SearchHits hits = index.search("card", 2, 2);
+
+        // Equal scores are ranked by indexing order
+        assertThat(hits.cardIds()).containsExactly(3L, 4L);
+        assertThat(hits.totalHits()).isEqualTo(5);
+        assertThat(index.search("card", 10, 2).cardIds()).isEmpty();
+    }
+
+    @Test
+    void searchRejectsNegativeOffset() {
+        index.index(1L, "card", null);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> index.search("card", Integer.MIN_VALUE, 20));
+        assertThatIllegalArgumentException().isThrownBy(() -> index.search("card", 0, -1));
+    }
+
+    @Test
+    void reindexReplacesPreviousVersion() {
+        index.index(1L, "Java", "coffee");
+        index.index(1L, "Java", "tea");
+
+        assertThat(index.search("coffee", 0, 20).cardIds()).isEmpty();
+        assertThat(index.search("tea", 0, 20).cardIds()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeAndPurge() {
+        for (long id = 0; id < 3000; id++) {
+            index.index(id, "card " + id, null);
+        }
+        for (long id = 0; id < 2000; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("card", 0, 5).cardIds()).containsExactly(2000L, 2001L, 2002L, 2003L, 2004L);
+        assertThat(index.search("card", 0, 5).totalHits()).isEqualTo(1000);
+        assertThat(index.search("1999", 0, 5).cardIds()).isEmpty();
+        assertThat(index.search("2999", 0, 5).cardIds()).containsExactly(2999L);
+    }
+}
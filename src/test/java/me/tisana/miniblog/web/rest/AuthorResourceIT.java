@@ -9,10 +9,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tisana.miniblog.IntegrationTest;
 import me.tisana.miniblog.domain.Author;
+import me.tisana.miniblog.domain.Card;
 import me.tisana.miniblog.repository.AuthorRepository;
 import me.tisana.miniblog.service.dto.AuthorDTO;
 import me.tisana.miniblog.service.mapper.AuthorMapper;
@@ -188,6 +191,25 @@ class AuthorResourceIT {
             .andExpect(jsonPath("$.[*].password").doesNotExist());
     }
 
+    @Test
+    @Transactional
+    void getAllAuthorsByPage() throws Exception {
+        // Initialize the database
+        insertedAuthor = authorRepository.saveAndFlush(author);
+
+        // Get the first page of one author, the most recent one
+        restAuthorMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", String.valueOf(getRepositoryCount())))
+            .andExpect(header().exists("Link"))
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(author.getId().intValue()))
+            .andExpect(jsonPath("$.[0].username").value(DEFAULT_USERNAME));
+    }
+
     @Test
     @Transactional
     void getAuthor() throws Exception {
@@ -204,6 +226,54 @@ class AuthorResourceIT {
             .andExpect(jsonPath("$.password").doesNotExist());
     }
 
+    @Test
+    @Transactional
+    void getAuthorCards() throws Exception {
+        // Initialize the database
+        em.persist(author.cardCount(3L));
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Card card = CardResourceIT.createEntity().author(author);
+            em.persist(card);
+            cards.add(card);
+        }
+        em.flush();
+
+        // Get the first window, newest cards first
+        String link = restAuthorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/cards?size=2&sort=id,desc", author.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(cards.get(2).getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(cards.get(1).getId().intValue()))
+            .andExpect(jsonPath("$.[0].author.id").value(author.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the cursor of the next window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restAuthorMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(cards.get(0).getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAuthorCardsWithInvalidRequest() throws Exception {
+        // Initialize the database
+        em.persist(author);
+        em.flush();
+
+        restAuthorMockMvc.perform(get(ENTITY_API_URL_ID + "/cards?sort=name,asc", author.getId())).andExpect(status().isBadRequest());
+        restAuthorMockMvc.perform(get(ENTITY_API_URL_ID + "/cards?after=invalid", author.getId())).andExpect(status().isBadRequest());
+        restAuthorMockMvc.perform(get(ENTITY_API_URL_ID + "/cards", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingAuthor() throws Exception {
@@ -0,0 +1,88 @@
+package me.tisana.miniblog.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.enumeration.Status;
+import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CardFacetsDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link CardFacetResource} REST controller.
+ * <p>
+ * Tests are not transactional, as the facet index is only updated once the writes commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CardFacetResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/cards";
+    private static final String ENTITY_FACETS_API_URL = "/api/cards/facets";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restCardMockMvc;
+
+    private CardDTO insertedCard;
+
+    @AfterEach
+    void cleanup() throws Exception {
+        if (insertedCard != null) {
+            restCardMockMvc.perform(delete(ENTITY_API_URL + "/{id}", insertedCard.getId()));
+            insertedCard = null;
+        }
+    }
+
+    @Test
+    void getCardFacets() throws Exception {
+        CardFacetsDTO before = getFacets("?status=PUBLISH,DRAFT");
+
+        CardDTO cardDTO = new CardDTO();
+        cardDTO.setName("Counted card");
+        cardDTO.setStatus(Status.PUBLISH);
+        insertedCard = om.readValue(
+            restCardMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CardDTO.class
+        );
+
+        CardFacetsDTO after = getFacets("?status=PUBLISH,DRAFT");
+        assertThat(after.getTotal()).isEqualTo(before.getTotal() + 1);
+        assertThat(after.getStatuses().get(Status.PUBLISH)).isEqualTo(before.getStatuses().getOrDefault(Status.PUBLISH, 0) + 1);
+
+        restCardMockMvc.perform(delete(ENTITY_API_URL + "/{id}", insertedCard.getId())).andExpect(status().isNoContent());
+        insertedCard = null;
+
+        assertThat(getFacets("?status=PUBLISH,DRAFT").getTotal()).isEqualTo(before.getTotal());
+    }
+
+    private CardFacetsDTO getFacets(String query) throws Exception {
+        return om.readValue(
+            restCardMockMvc
+                .perform(get(ENTITY_FACETS_API_URL + query))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CardFacetsDTO.class
+        );
+    }
+}
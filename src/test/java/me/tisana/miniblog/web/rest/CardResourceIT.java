@@ -3,7 +3,9 @@ package me.tisana.miniblog.web.rest;
 import static me.tisana.miniblog.domain.CardAsserts.*;
 import static me.tisana.miniblog.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,14 +13,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.Author;
 import me.tisana.miniblog.domain.Card;
+import me.tisana.miniblog.domain.Category;
 import me.tisana.miniblog.domain.enumeration.Status;
 import me.tisana.miniblog.repository.CardRepository;
+import me.tisana.miniblog.service.CardResponseCache;
 import me.tisana.miniblog.service.CardService;
+import me.tisana.miniblog.service.dto.AuthorDTO;
 import me.tisana.miniblog.service.dto.CardDTO;
+import me.tisana.miniblog.service.dto.CategoryDTO;
 import me.tisana.miniblog.service.mapper.CardMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -74,6 +83,9 @@ class CardResourceIT {
     @Mock
     private CardService cardServiceMock;
 
+    @Autowired
+    private CardResponseCache cardResponseCache;
+
     @Autowired
     private EntityManager em;
 
@@ -141,6 +153,139 @@ class CardResourceIT {
         insertedCard = returnedCard;
     }
 
+    @Test
+    @Transactional
+    void createCardsInBatch() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        // Create two valid cards and one without a name
+        CardDTO invalidCardDTO = cardMapper.toDto(createEntity());
+        invalidCardDTO.setName(null);
+        List<CardDTO> cardDTOs = List.of(cardMapper.toDto(createEntity()), invalidCardDTO, cardMapper.toDto(createUpdatedEntity()));
+
+        restCardMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTOs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].status").value(201))
+            .andExpect(jsonPath("$[0].id").isNumber())
+            .andExpect(jsonPath("$[1].status").value(400))
+            .andExpect(jsonPath("$[1].errors[0]").value(startsWith("name")))
+            .andExpect(jsonPath("$[2].index").value(2))
+            .andExpect(jsonPath("$[2].status").value(201));
+
+        // Validate that only the valid cards were persisted
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    @Transactional
+    void updateCardsInBatch() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        CardDTO updatedCardDTO = cardMapper.toDto(createUpdatedEntity());
+        updatedCardDTO.setId(card.getId());
+        CardDTO missingCardDTO = cardMapper.toDto(createUpdatedEntity());
+        missingCardDTO.setId(longCount.incrementAndGet());
+
+        restCardMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(updatedCardDTO, missingCardDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value(200))
+            .andExpect(jsonPath("$[0].id").value(card.getId().intValue()))
+            .andExpect(jsonPath("$[1].status").value(404));
+
+        // Validate the Card in the database
+        Card persistedCard = getPersistedCard(card);
+        assertThat(persistedCard.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(persistedCard.getContent()).isEqualTo(UPDATED_CONTENT);
+    }
+
+    @Test
+    @Transactional
+    void createCardsInBatchWithMissingReferences() throws Exception {
+        Author author = AuthorResourceIT.createEntity();
+        em.persist(author);
+        Category category = CategoryResourceIT.createEntity();
+        em.persist(category);
+        em.flush();
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // Create a card of an existing author and category, one of a missing author and one of a missing category
+        CardDTO missingAuthorCardDTO = cardMapper.toDto(createEntity());
+        missingAuthorCardDTO.setAuthor(new AuthorDTO());
+        missingAuthorCardDTO.getAuthor().setId(longCount.incrementAndGet());
+        CardDTO missingCategoryCardDTO = cardMapper.toDto(createEntity());
+        missingCategoryCardDTO.setCategory(new CategoryDTO());
+        missingCategoryCardDTO.getCategory().setId(longCount.incrementAndGet());
+        List<CardDTO> cardDTOs = List.of(
+            cardMapper.toDto(createEntity().author(author).category(category)),
+            missingAuthorCardDTO,
+            missingCategoryCardDTO
+        );
+
+        restCardMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTOs)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value(201))
+            .andExpect(jsonPath("$[1].status").value(400))
+            .andExpect(jsonPath("$[1].errors[0]").value(startsWith("author")))
+            .andExpect(jsonPath("$[2].status").value(400))
+            .andExpect(jsonPath("$[2].errors[0]").value(startsWith("category")));
+
+        // Validate that only the card with existing references was persisted
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeCreate + 1);
+        assertThat(em.find(Author.class, author.getId()).getCardCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional
+    void updateCardsInBatchWithMissingReferences() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+        Card otherCard = cardRepository.saveAndFlush(createEntity());
+
+        CardDTO updatedCardDTO = cardMapper.toDto(createUpdatedEntity());
+        updatedCardDTO.setId(card.getId());
+        CardDTO missingCategoryCardDTO = cardMapper.toDto(createUpdatedEntity());
+        missingCategoryCardDTO.setId(otherCard.getId());
+        missingCategoryCardDTO.setCategory(new CategoryDTO());
+        missingCategoryCardDTO.getCategory().setId(longCount.incrementAndGet());
+
+        restCardMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(updatedCardDTO, missingCategoryCardDTO)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value(200))
+            .andExpect(jsonPath("$[1].status").value(400))
+            .andExpect(jsonPath("$[1].errors[0]").value(startsWith("category")));
+
+        // Validate that only the card with existing references was updated
+        assertThat(getPersistedCard(card).getName()).isEqualTo(UPDATED_NAME);
+        assertThat(getPersistedCard(otherCard).getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(getPersistedCard(otherCard).getCategory()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void createCardsInBatchTooLarge() throws Exception {
+        List<CardDTO> cardDTOs = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            cardDTOs.add(cardMapper.toDto(createEntity()));
+        }
+
+        restCardMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTOs)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void createCardWithExistingId() throws Exception {
@@ -193,6 +338,114 @@ class CardResourceIT {
             .andExpect(jsonPath("$.[*].content").value(hasItem(DEFAULT_CONTENT)));
     }
 
+    @Test
+    @Transactional
+    void getAllCardSummaries() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the card summaries, without their content
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "/summaries?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(jsonPath("$.[*].content").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithoutCount() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get a slice of cards, without counting them
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithinQueryBudget() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get a slice of cards with their relationships, in a single statement
+        QueryBudget.assertStatementCount(1, () ->
+            restCardMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&count=false"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", "sql;desc=\"1 statements\""))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())))
+        );
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithEstimatedCount() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get a page of cards, with an estimated total
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&count=estimate"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(header().string("X-Total-Count-Approximate", "true"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithInvalidCount() throws Exception {
+        restCardMockMvc.perform(get(ENTITY_API_URL + "?count=maybe")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Card first = cardRepository.saveAndFlush(createEntity());
+        Card second = cardRepository.saveAndFlush(createEntity());
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get the first window, newest cards first
+        String link = restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?keyset=true&size=2&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(card.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the cursor of the next window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restCardMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()));
+
+        cardRepository.delete(first);
+        cardRepository.delete(second);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsWithInvalidCursor() throws Exception {
+        restCardMockMvc.perform(get(ENTITY_API_URL + "?after=invalid&sort=id,desc")).andExpect(status().isBadRequest());
+        restCardMockMvc.perform(get(ENTITY_API_URL + "?keyset=true&sort=content,asc")).andExpect(status().isBadRequest());
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllCardsWithEagerRelationshipsIsEnabled() throws Exception {
         when(cardServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -227,6 +480,277 @@ class CardResourceIT {
             .andExpect(jsonPath("$.content").value(DEFAULT_CONTENT));
     }
 
+    @Test
+    @Transactional
+    void exportCards() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Export all the cards, one JSON document per line
+        String export = restCardMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(export).endsWith("\n");
+        List<Long> exportedIds = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            exportedIds.add(om.readTree(line).get("id").asLong());
+        }
+        assertThat(exportedIds).contains(card.getId());
+    }
+
+    @Test
+    @Transactional
+    void getCardsByIdFiltering() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        Long id = card.getId();
+
+        defaultCardFiltering("id.equals=" + id, "id.notEquals=" + id);
+
+        defaultCardFiltering("id.greaterThanOrEqual=" + id, "id.greaterThan=" + id);
+
+        defaultCardFiltering("id.lessThanOrEqual=" + id, "id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the cardList where name equals to
+        defaultCardFiltering("name.equals=" + DEFAULT_NAME, "name.equals=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByNameIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the cardList where name in
+        defaultCardFiltering("name.in=" + DEFAULT_NAME + "," + UPDATED_NAME, "name.in=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByNameContainsSomething() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the cardList where name contains
+        defaultCardFiltering("name.contains=" + DEFAULT_NAME, "name.contains=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByStatusIsEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the cardList where status equals to
+        defaultCardFiltering("status.equals=" + DEFAULT_STATUS, "status.equals=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByStatusIsInShouldWork() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get all the cardList where status in
+        defaultCardFiltering("status.in=" + DEFAULT_STATUS + "," + UPDATED_STATUS, "status.in=" + UPDATED_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByAuthorIsEqualToSomething() throws Exception {
+        Author author;
+        if (TestUtil.findAll(em, Author.class).isEmpty()) {
+            cardRepository.saveAndFlush(card);
+            author = AuthorResourceIT.createEntity();
+        } else {
+            author = TestUtil.findAll(em, Author.class).get(0);
+        }
+        em.persist(author);
+        em.flush();
+        card.setAuthor(author);
+        insertedCard = cardRepository.saveAndFlush(card);
+        Long authorId = author.getId();
+        // Get all the cardList where author equals to authorId
+        defaultCardShouldBeFound("authorId.equals=" + authorId);
+
+        // Get all the cardList where author equals to (authorId + 1)
+        defaultCardShouldNotBeFound("authorId.equals=" + (authorId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByCategoryIsInSomething() throws Exception {
+        Category category;
+        if (TestUtil.findAll(em, Category.class).isEmpty()) {
+            cardRepository.saveAndFlush(card);
+            category = CategoryResourceIT.createEntity();
+        } else {
+            category = TestUtil.findAll(em, Category.class).get(0);
+        }
+        em.persist(category);
+        em.flush();
+        card.setCategory(category);
+        insertedCard = cardRepository.saveAndFlush(card);
+        Long categoryId = category.getId();
+        // Get all the cardList where category in categoryId
+        defaultCardShouldBeFound("categoryId.in=" + categoryId + "," + (categoryId + 1));
+
+        // Get all the cardList where category in (categoryId + 1)
+        defaultCardShouldNotBeFound("categoryId.in=" + (categoryId + 1));
+    }
+
+    @Test
+    @Transactional
+    void getAllCardsByCriteriaWithKeysetPagination() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        // Get the first window of the cards matching the criteria
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?keyset=true&sort=id,desc&status.equals=" + DEFAULT_STATUS))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())));
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?keyset=true&sort=id,desc&status.equals=" + UPDATED_STATUS + "&id.equals=" + card.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void writesMaintainCardCounts() throws Exception {
+        Author author = AuthorResourceIT.createEntity();
+        em.persist(author);
+        Category category = CategoryResourceIT.createEntity();
+        em.persist(category);
+        Category otherCategory = CategoryResourceIT.createUpdatedEntity();
+        em.persist(otherCategory);
+        em.flush();
+
+        // Create a card of the author in the category
+        CardDTO cardDTO = cardMapper.toDto(card.author(author).category(category));
+        cardDTO = om.readValue(
+            restCardMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CardDTO.class
+        );
+        assertThat(author.getCardCount()).isEqualTo(1L);
+        assertThat(category.getCardCount()).isEqualTo(1L);
+        restCardMockMvc
+            .perform(get("/api/authors/{id}", author.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.cardCount").value(1));
+
+        // Move it to the other category
+        CardDTO partialUpdatedCardDTO = new CardDTO();
+        partialUpdatedCardDTO.setId(cardDTO.getId());
+        partialUpdatedCardDTO.setCategory(cardMapper.toDtoCategoryName(otherCategory));
+        restCardMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, cardDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedCardDTO))
+            )
+            .andExpect(status().isOk());
+        assertThat(author.getCardCount()).isEqualTo(1L);
+        assertThat(category.getCardCount()).isZero();
+        assertThat(otherCategory.getCardCount()).isEqualTo(1L);
+
+        // Delete it
+        restCardMockMvc.perform(delete(ENTITY_API_URL_ID, cardDTO.getId())).andExpect(status().isNoContent());
+        assertThat(author.getCardCount()).isZero();
+        assertThat(otherCategory.getCardCount()).isZero();
+    }
+
+    private void defaultCardFiltering(String shouldBeFound, String shouldNotBeFound) throws Exception {
+        defaultCardShouldBeFound(shouldBeFound);
+        defaultCardShouldNotBeFound(shouldNotBeFound);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultCardShouldBeFound(String filter) throws Exception {
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(card.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS.toString())))
+            .andExpect(jsonPath("$.[*].content").value(hasItem(DEFAULT_CONTENT)));
+
+        // Check, that the count call also returns 1
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultCardShouldNotBeFound(String filter) throws Exception {
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
+    @Test
+    @Transactional
+    void getCardsByIds() throws Exception {
+        // Initialize the database
+        Card first = cardRepository.saveAndFlush(createEntity());
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        long[] ids = { card.getId(), Long.MAX_VALUE, first.getId(), card.getId() };
+        restCardMockMvc
+            .perform(post(ENTITY_API_URL + "/_mget").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(ids)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(card.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].name").value(DEFAULT_NAME));
+
+        cardRepository.delete(first);
+    }
+
+    @Test
+    @Transactional
+    void getTooManyCardsByIds() throws Exception {
+        restCardMockMvc
+            .perform(post(ENTITY_API_URL + "/_mget").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(new long[1001])))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getNonExistingCard() throws Exception {
@@ -258,6 +782,118 @@ class CardResourceIT {
         assertPersistedCardToMatchAllProperties(updatedCard);
     }
 
+    @Test
+    @Transactional
+    void getCardWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        String eTag = restCardMockMvc
+            .perform(get(ENTITY_API_URL_ID, card.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The card has not changed
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL_ID, card.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the card, so that its entity tag changes
+        Card updatedCard = cardRepository.findById(card.getId()).orElseThrow();
+        updatedCard.name(UPDATED_NAME);
+        cardRepository.saveAndFlush(updatedCard);
+        // Written through the repository, so the cached response is evicted as the services do
+        cardResponseCache.evict(card.getId());
+
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL_ID, card.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getCardAfterUpdate() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL_ID, card.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, cardResponseCache.get(card.getId()).orElseThrow().json().length))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+
+        CardDTO cardDTO = cardMapper.toDto(cardRepository.findById(card.getId()).orElseThrow());
+        cardDTO.setName(UPDATED_NAME);
+        restCardMockMvc
+            .perform(put(ENTITY_API_URL_ID, cardDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
+            .andExpect(status().isOk());
+
+        // The update evicted the cached response
+        assertThat(cardResponseCache.get(card.getId())).isEmpty();
+        restCardMockMvc
+            .perform(get(ENTITY_API_URL_ID, card.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    void putCardWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        Card updatedCard = cardRepository.findById(card.getId()).orElseThrow();
+        em.detach(updatedCard);
+        updatedCard.name(UPDATED_NAME);
+        CardDTO cardDTO = cardMapper.toDto(updatedCard);
+
+        // The client holds an older representation of the card
+        restCardMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, cardDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + (card.getVersion() + 1) + "-0-0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(cardDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the Card in the database
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        assertPersistedCardToMatchAllProperties(card);
+    }
+
+    @Test
+    @Transactional
+    void putCardWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedCard = cardRepository.saveAndFlush(card);
+
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        Card updatedCard = cardRepository.findById(card.getId()).orElseThrow();
+        em.detach(updatedCard);
+        updatedCard.name(UPDATED_NAME);
+        CardDTO cardDTO = cardMapper.toDto(updatedCard);
+        cardDTO.setVersion(card.getVersion() - 1);
+
+        // The client updates an older version of the card
+        restCardMockMvc
+            .perform(put(ENTITY_API_URL_ID, cardDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
+            .andExpect(status().isConflict());
+
+        // Validate the Card in the database
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        assertPersistedCardToMatchAllProperties(card);
+    }
+
     @Test
     @Transactional
     void putNonExistingCard() throws Exception {
@@ -267,10 +903,10 @@ class CardResourceIT {
         // Create the Card
         CardDTO cardDTO = cardMapper.toDto(card);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The card is not found
         restCardMockMvc
             .perform(put(ENTITY_API_URL_ID, cardDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Card in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -381,12 +1017,12 @@ class CardResourceIT {
         // Create the Card
         CardDTO cardDTO = cardMapper.toDto(card);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The card is not found
         restCardMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, cardDTO.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(cardDTO))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Card in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
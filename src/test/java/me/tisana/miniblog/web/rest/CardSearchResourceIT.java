@@ -0,0 +1,88 @@
+package me.tisana.miniblog.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.service.dto.CardDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link CardSearchResource} REST controller.
+ * <p>
+ * Tests are not transactional, as the search index is only updated once the writes commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CardSearchResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/cards";
+    private static final String ENTITY_SEARCH_API_URL = "/api/_search/cards";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restCardMockMvc;
+
+    private CardDTO insertedCard;
+
+    @AfterEach
+    void cleanup() throws Exception {
+        if (insertedCard != null) {
+            restCardMockMvc.perform(delete(ENTITY_API_URL + "/{id}", insertedCard.getId()));
+            insertedCard = null;
+        }
+    }
+
+    @Test
+    void searchCard() throws Exception {
+        CardDTO cardDTO = new CardDTO();
+        cardDTO.setName("Searchable needle");
+        cardDTO.setContent("haystack");
+        insertedCard = om.readValue(
+            restCardMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cardDTO)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CardDTO.class
+        );
+
+        restCardMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=needle"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(insertedCard.getId().intValue())));
+
+        restCardMockMvc.perform(delete(ENTITY_API_URL + "/{id}", insertedCard.getId())).andExpect(status().isNoContent());
+
+        restCardMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?q=needle"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(insertedCard.getId().intValue()))));
+        insertedCard = null;
+    }
+
+    @Test
+    void searchCardsBeyondResultWindow() throws Exception {
+        // The offset of the page overflows an int
+        restCardMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=needle&page=2000000000&size=20")).andExpect(status().isBadRequest());
+
+        restCardMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=needle&page=500&size=20")).andExpect(status().isBadRequest());
+
+        restCardMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?q=needle&page=499&size=20")).andExpect(status().isOk());
+    }
+}
@@ -4,14 +4,18 @@ import static me.tisana.miniblog.domain.CategoryAsserts.*;
 import static me.tisana.miniblog.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import me.tisana.miniblog.IntegrationTest;
+import me.tisana.miniblog.domain.Card;
 import me.tisana.miniblog.domain.Category;
 import me.tisana.miniblog.repository.CategoryRepository;
 import me.tisana.miniblog.service.dto.CategoryDTO;
@@ -21,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -169,6 +174,56 @@ class CategoryResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllCategoriesWithIfNoneMatch() throws Exception {
+        // Initialize the database
+        insertedCategory = categoryRepository.saveAndFlush(category);
+
+        String eTag = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // No category has changed
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update the category, so that the entity tag of the list changes
+        Category updatedCategory = categoryRepository.findById(category.getId()).orElseThrow();
+        updatedCategory.name(UPDATED_NAME);
+        categoryRepository.saveAndFlush(updatedCategory);
+
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(UPDATED_NAME)));
+    }
+
+    @Test
+    @Transactional
+    void getAllCategoriesByPage() throws Exception {
+        // Initialize the database
+        insertedCategory = categoryRepository.saveAndFlush(category);
+
+        // Get the first page of one category, the most recent one
+        restCategoryMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", String.valueOf(getRepositoryCount())))
+            .andExpect(header().exists("Link"))
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(category.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(DEFAULT_NAME));
+    }
+
     @Test
     @Transactional
     void getCategory() throws Exception {
@@ -184,6 +239,54 @@ class CategoryResourceIT {
             .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
     }
 
+    @Test
+    @Transactional
+    void getCategoryCards() throws Exception {
+        // Initialize the database
+        em.persist(category.cardCount(3L));
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Card card = CardResourceIT.createEntity().category(category);
+            em.persist(card);
+            cards.add(card);
+        }
+        em.flush();
+
+        // Get the first window, newest cards first
+        String link = restCategoryMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/cards?size=2&sort=id,desc", category.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(cards.get(2).getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(cards.get(1).getId().intValue()))
+            .andExpect(jsonPath("$.[0].category.id").value(category.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the cursor of the next window
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restCategoryMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(cards.get(0).getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getCategoryCardsWithInvalidRequest() throws Exception {
+        // Initialize the database
+        em.persist(category);
+        em.flush();
+
+        restCategoryMockMvc.perform(get(ENTITY_API_URL_ID + "/cards?sort=name,asc", category.getId())).andExpect(status().isBadRequest());
+        restCategoryMockMvc.perform(get(ENTITY_API_URL_ID + "/cards?after=invalid", category.getId())).andExpect(status().isBadRequest());
+        restCategoryMockMvc.perform(get(ENTITY_API_URL_ID + "/cards", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void getNonExistingCategory() throws Exception {
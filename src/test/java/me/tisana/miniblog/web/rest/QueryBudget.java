@@ -0,0 +1,42 @@
+package me.tisana.miniblog.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import me.tisana.miniblog.management.SqlStatementCounter;
+
+/**
+ * Utility class asserting how many SQL statements an action prepares, such as a request performed with
+ * {@link org.springframework.test.web.servlet.MockMvc}, to keep endpoints within a query budget.
+ * <p>
+ * Within a {@code @Transactional} test, changes are only flushed when the test transaction ends, so their statements
+ * are not counted unless the action flushes them.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {}
+
+    /**
+     * Run an action and assert the number of SQL statements it prepared.
+     *
+     * @param expected the expected number of statements.
+     * @param action the action, run on the current thread.
+     * @param <T> the type of the result of the action.
+     * @return the result of the action.
+     * @throws Exception if the action fails.
+     */
+    public static <T> T assertStatementCount(int expected, Callable<T> action) throws Exception {
+        T result;
+        int count;
+        Map<String, Integer> executionsByShape;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("test")) {
+            result = action.call();
+            count = scope.getCount();
+            executionsByShape = new LinkedHashMap<>(scope.getExecutionsByShape());
+        }
+        assertThat(count).as("Number of SQL statements, executions by statement: %s", executionsByShape).isEqualTo(expected);
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package me.tisana.miniblog.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Test class for the {@link ETagUtil} utility class.
+ */
+class ETagUtilTest {
+
+    @Test
+    void toETagJoinsVersions() {
+        assertThat(ETagUtil.toETag(3L)).isEqualTo("\"3\"");
+        assertThat(ETagUtil.toETag(3L, null, 7L)).isEqualTo("\"3-0-7\"");
+    }
+
+    @Test
+    void toWeakETagJoinsValues() {
+        assertThat(ETagUtil.toWeakETag(3L, null, 7L)).isEqualTo("W/\"3-0-7\"");
+    }
+
+    @Test
+    void weakETagOnlyMatchesIfNoneMatch() {
+        String eTag = ETagUtil.toWeakETag(3L);
+
+        assertThat(ETagUtil.isNotModified("W/\"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isNotModified("\"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isPreconditionMet("W/\"3\"", eTag)).isFalse();
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String eTag = ETagUtil.toETag(3L);
+
+        assertThat(ETagUtil.isNotModified(null, eTag)).isFalse();
+        assertThat(ETagUtil.isNotModified("\"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isNotModified("W/\"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isNotModified("\"1\", \"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isNotModified("*", eTag)).isTrue();
+        assertThat(ETagUtil.isNotModified("\"2\"", eTag)).isFalse();
+    }
+
+    @Test
+    void ifMatchUsesStrongComparison() {
+        String eTag = ETagUtil.toETag(3L);
+
+        assertThat(ETagUtil.isPreconditionMet(null, eTag)).isTrue();
+        assertThat(ETagUtil.isPreconditionMet("\"3\"", eTag)).isTrue();
+        assertThat(ETagUtil.isPreconditionMet("*", eTag)).isTrue();
+        assertThat(ETagUtil.isPreconditionMet("W/\"3\"", eTag)).isFalse();
+        assertThat(ETagUtil.isPreconditionMet("\"2\"", eTag)).isFalse();
+    }
+
+    @Test
+    void notModifiedHasNoBody() {
+        ResponseEntity<Object> response = ETagUtil.notModified("\"3\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.hasBody()).isFalse();
+    }
+}
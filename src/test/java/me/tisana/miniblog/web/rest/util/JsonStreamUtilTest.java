@@ -0,0 +1,37 @@
+package me.tisana.miniblog.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Test class for the {@link JsonStreamUtil} utility class.
+ */
+class JsonStreamUtilTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void writeArrayWritesEachElementInOrder() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        JsonStreamUtil.<String>writeArray(response, jsonMapper.writerFor(String.class), List.of("a", "b", "c")::forEach);
+
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString()).isEqualTo("[\"a\",\"b\",\"c\"]");
+    }
+
+    @Test
+    void writeArrayWithoutElements() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        JsonStreamUtil.<String>writeArray(response, jsonMapper.writerFor(String.class), consumer -> {});
+
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+}
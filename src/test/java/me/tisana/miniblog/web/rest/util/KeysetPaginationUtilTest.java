@@ -0,0 +1,77 @@
+package me.tisana.miniblog.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    @Test
+    void cursorRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "a & b = c/ä");
+        keys.put("id", 42L);
+
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(keys));
+        KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(cursor, List.of("name", "id"));
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(position.getKeys()).isEqualTo(keys);
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void decodeRejectsMalformedCursor() {
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetPaginationUtil.decodeCursor("not a cursor!", List.of("id")));
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetPaginationUtil.decodeCursor("aWQ9WDE", List.of("id")));
+    }
+
+    @Test
+    void decodeRejectsCursorOfAnotherSort() {
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 42L)));
+
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetPaginationUtil.decodeCursor(cursor, List.of("name", "id")));
+    }
+
+    @Test
+    void positionAfter() {
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 42L)));
+
+        assertThat(KeysetPaginationUtil.positionAfter(null, Sort.by("id"))).isEqualTo(ScrollPosition.keyset());
+        assertThat(KeysetPaginationUtil.positionAfter("", Sort.by("id"))).isEqualTo(ScrollPosition.keyset());
+        assertThat(KeysetPaginationUtil.positionAfter(cursor, Sort.by("id"))).isEqualTo(ScrollPosition.forward(Map.of("id", 42L)));
+        assertThatIllegalArgumentException().isThrownBy(() -> KeysetPaginationUtil.positionAfter(cursor, Sort.by("name", "id")));
+    }
+
+    @Test
+    void generateKeysetHttpHeaders() {
+        IntFunction<ScrollPosition> positions = index -> ScrollPosition.forward(Map.of("id", (long) index + 1));
+        Window<String> window = Window.from(List.of("a", "b"), positions, true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            UriComponentsBuilder.fromUriString("http://localhost/api/cards?size=2"),
+            window
+        );
+
+        String cursor = KeysetPaginationUtil.encodeCursor(positions.apply(1));
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/cards?size=2&after=" +
+            cursor +
+            ">; rel=\"next\",<http://localhost/api/cards?size=2&after=>; rel=\"first\""
+        );
+    }
+}
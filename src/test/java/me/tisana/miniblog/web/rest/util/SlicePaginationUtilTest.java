@@ -0,0 +1,59 @@
+package me.tisana.miniblog.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link SlicePaginationUtil} utility class.
+ */
+class SlicePaginationUtilTest {
+
+    private static final String BASE_URL = "/api/_example";
+
+    @Test
+    void generateSliceHttpHeadersWithNextAndPrevious() {
+        Slice<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), slice);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly(
+            "<" + BASE_URL + "?page=2&size=2>; rel=\"next\"," +
+            "<" + BASE_URL + "?page=0&size=2>; rel=\"prev\"," +
+            "<" + BASE_URL + "?page=0&size=2>; rel=\"first\""
+        );
+        assertThat(headers.containsHeader("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void generateSliceHttpHeadersOnLastSlice() {
+        Slice<String> slice = new SliceImpl<>(List.of("a"), PageRequest.of(0, 2), false);
+
+        HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(UriComponentsBuilder.fromUriString(BASE_URL), slice);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly("<" + BASE_URL + "?page=0&size=2>; rel=\"first\"");
+    }
+
+    @Test
+    void toEstimatedPageKeepsEstimateConsistentWithSlice() {
+        // The estimate is kept when there are more elements
+        Page<String> page = SlicePaginationUtil.toEstimatedPage(new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), 100);
+        assertThat(page.getTotalElements()).isEqualTo(100);
+
+        // The estimate is raised when it is lower than the elements already known
+        page = SlicePaginationUtil.toEstimatedPage(new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), 3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.hasNext()).isTrue();
+
+        // The total is exact on the last slice
+        page = SlicePaginationUtil.toEstimatedPage(new SliceImpl<>(List.of("a"), PageRequest.of(1, 2), false), 100);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+}